@@ -0,0 +1,61 @@
+package com.yong.aop.logging;
+
+import ch.qos.logback.classic.Level;
+import com.yong.domain.User;
+import com.yong.service.dto.UserDTO;
+import com.yong.service.mapper.UserMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Benchmark of the overhead of the {@link LoggingAspect} around-advice, on a cheap service method, with the debug logs
+ * disabled as in production, and enabled as in development.
+ * <p>
+ * The logs are not written anywhere, so that only the cost of the advice and of building the messages is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({ "INFO", "DEBUG" })
+    public String level;
+
+    private UserMapper direct;
+
+    private UserMapper advised;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        direct = new UserMapper();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(direct);
+        proxyFactory.addAspect(new LoggingAspect(new StandardEnvironment()));
+        advised = proxyFactory.getProxy();
+
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(UserMapper.class);
+        logger.setLevel(Level.toLevel(level));
+        logger.setAdditive(false);
+
+        user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+    }
+
+    @Benchmark
+    public UserDTO direct() {
+        return direct.toDtoLogin(user);
+    }
+
+    @Benchmark
+    public UserDTO advised() {
+        return advised.toDtoLogin(user);
+    }
+}
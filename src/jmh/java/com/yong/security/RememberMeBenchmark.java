@@ -0,0 +1,147 @@
+package com.yong.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import ch.qos.logback.classic.Level;
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.PersistentToken;
+import com.yong.domain.User;
+import com.yong.repository.PersistentTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.jhipster.config.JHipsterProperties;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Benchmark of {@link PersistentTokenRememberMeServices#processAutoLoginCookie} under contention: each thread logs
+ * in a different user, refreshing their token on every call.
+ * <p>
+ * The same calls are measured on 1, 4 and all the available threads: as the logins of different series do not share
+ * a lock, the throughput should grow with the number of cores.
+ * <p>
+ * The token repository is kept in memory, each call burning {@code repositoryLatency} CPU tokens to stand in for a
+ * database round trip. With {@code writeBehind}, the date, IP address and user agent updates are queued and never
+ * written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RememberMeBenchmark {
+
+    @Param({ "0", "1000" })
+    public long repositoryLatency;
+
+    @Param({ "false", "true" })
+    public boolean writeBehind;
+
+    private final Map<String, PersistentToken> tokens = new ConcurrentHashMap<>();
+
+    private PersistentTokenRememberMeServices rememberMeServices;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PersistentTokenRememberMeServices.class)).setLevel(Level.WARN);
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getRememberMe().setKey("benchmark");
+        PersistentTokenRepository persistentTokenRepository = mock(PersistentTokenRepository.class, withSettings().stubOnly());
+        when(persistentTokenRepository.findById(anyString()))
+            .thenAnswer(
+                invocation -> {
+                    Blackhole.consumeCPU(repositoryLatency);
+                    return Optional.ofNullable(tokens.get(invocation.<String>getArgument(0)));
+                }
+            );
+        when(persistentTokenRepository.saveAndFlush(any(PersistentToken.class)))
+            .thenAnswer(
+                invocation -> {
+                    Blackhole.consumeCPU(repositoryLatency);
+                    PersistentToken token = invocation.getArgument(0);
+                    tokens.put(token.getSeries(), token);
+                    return token;
+                }
+            );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRememberMe().setWriteBehind(writeBehind);
+        // Never flushed: the pending updates stay one per thread
+        PersistentTokenMetadataWriter tokenMetadataWriter = new PersistentTokenMetadataWriter(
+            persistentTokenRepository,
+            mock(PlatformTransactionManager.class),
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+        rememberMeServices =
+            new PersistentTokenRememberMeServices(
+                jHipsterProperties,
+                login -> new org.springframework.security.core.userdetails.User(login, "", List.of()),
+                persistentTokenRepository,
+                null,
+                tokenMetadataWriter,
+                new SimpleMeterRegistry()
+            );
+    }
+
+    /**
+     * The remember-me cookie of the user of a thread.
+     */
+    @State(Scope.Thread)
+    public static class Cookie {
+
+        private String series;
+
+        @Setup
+        public void setUp(RememberMeBenchmark benchmark) {
+            series = RandomUtil.generateRandomAlphanumericString();
+            User user = new User();
+            user.setLogin("user-" + series);
+            PersistentToken token = new PersistentToken();
+            token.setSeries(series);
+            token.setTokenValue(RandomUtil.generateRandomAlphanumericString());
+            token.setTokenDate(LocalDate.now());
+            token.setUser(user);
+            benchmark.tokens.put(series, token);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserDetails processAutoLoginCookieOneThread(Cookie cookie) {
+        return processAutoLoginCookie(cookie);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserDetails processAutoLoginCookieFourThreads(Cookie cookie) {
+        return processAutoLoginCookie(cookie);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UserDetails processAutoLoginCookieAllCores(Cookie cookie) {
+        return processAutoLoginCookie(cookie);
+    }
+
+    private UserDetails processAutoLoginCookie(Cookie cookie) {
+        String[] cookieTokens = { cookie.series, tokens.get(cookie.series).getTokenValue() };
+        return rememberMeServices.processAutoLoginCookie(cookieTokens, new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+}
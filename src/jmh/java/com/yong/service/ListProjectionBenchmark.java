@@ -0,0 +1,102 @@
+package com.yong.service;
+
+import com.yong.MovieNewsApp;
+import com.yong.domain.Image;
+import com.yong.domain.Movie;
+import com.yong.domain.User;
+import com.yong.repository.MovieRepository;
+import com.yong.service.dto.MovieDTO;
+import com.yong.service.mapper.MovieMapper;
+import com.yong.web.rest.MovieResourceIT;
+import com.yong.web.rest.UserResourceIT;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of reading a page of movies, through managed entities and MapStruct (the former list path), and through
+ * the DTO projection used by {@link MovieService#findAll(Pageable)}.
+ * <p>
+ * The application is started on the in-memory H2 database of the tests, with {@code movies} movies owned by 20 users.
+ * Run with {@code -Djmh.args="ListProjectionBenchmark -prof gc"} to compare the bytes allocated per page
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int USERS = 20;
+
+    @Param({ "200" })
+    public int movies;
+
+    @Param({ "20" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private MovieRepository movieRepository;
+
+    private MovieMapper movieMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context =
+            new SpringApplication(MovieNewsApp.class).run("--server.port=0", "--logging.level.ROOT=WARN", "--logging.level.com.yong=WARN");
+        movieRepository = context.getBean(MovieRepository.class);
+        movieMapper = context.getBean(MovieMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                Image image = MovieResourceIT.createImage(em, new byte[] { 1, 2, 3 }, "image/png");
+                User[] users = new User[USERS];
+                for (int i = 0; i < USERS; i++) {
+                    users[i] = UserResourceIT.createEntity(em);
+                    em.persist(users[i]);
+                }
+                for (int i = 0; i < movies; i++) {
+                    Movie movie = MovieResourceIT.createEntity(em);
+                    movie.setImage(image);
+                    movie.setUser(users[i % USERS]);
+                    em.persist(movie);
+                }
+            }
+        );
+        transactionTemplate.setReadOnly(true);
+        pageable = PageRequest.of(1, pageSize, Sort.by("id"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MovieDTO> entities() {
+        return transactionTemplate.execute(status -> movieRepository.findAll(pageable).map(movieMapper::toDto).getContent());
+    }
+
+    @Benchmark
+    public List<MovieDTO> projection() {
+        return transactionTemplate.execute(status -> movieRepository.findAllProjectedBy(pageable).getContent());
+    }
+}
@@ -0,0 +1,96 @@
+package com.yong.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the tweet insert throughput on an in-memory H2 database, one statement per tweet (as forced by the
+ * former auto-increment ids, which had to be read back after each insert), and in JDBC batches (as allowed by the
+ * pooled table generator).
+ * <p>
+ * Each invocation inserts and commits {@code tweets} tweets; the scores are in inserts per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(TwitterInsertBenchmark.TWEETS)
+public class TwitterInsertBenchmark {
+
+    static final int TWEETS = 1_000;
+
+    @Param({ "1", "25" })
+    public int batchSize;
+
+    private Connection connection;
+
+    private long nextId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:twitterInsertBenchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "create table twitter (id bigint primary key, content varchar(255) not null, pub_date timestamp, " +
+                "publisher varchar(255), movie_id bigint)"
+            );
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTweets() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table twitter");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table twitter");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void insert() throws SQLException {
+        Timestamp pubDate = Timestamp.from(Instant.now());
+        try (
+            PreparedStatement insert = connection.prepareStatement(
+                "insert into twitter (content, pub_date, publisher, movie_id, id) values (?, ?, ?, ?, ?)"
+            )
+        ) {
+            for (int i = 1; i <= TWEETS; i++) {
+                insert.setString(1, "AAAAAAAAAA");
+                insert.setTimestamp(2, pubDate);
+                insert.setString(3, "AAAAAAAAAA");
+                insert.setNull(4, Types.BIGINT);
+                insert.setLong(5, ++nextId);
+                if (batchSize == 1) {
+                    insert.executeUpdate();
+                } else {
+                    insert.addBatch();
+                    if (i % batchSize == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            if (batchSize > 1) {
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,87 @@
+package com.yong.service.mapper;
+
+import com.yong.domain.Image;
+import com.yong.domain.Movie;
+import com.yong.domain.Twitter;
+import com.yong.domain.User;
+import com.yong.service.dto.MovieDTO;
+import com.yong.service.dto.TwitterDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark of the MapStruct mappers on the list and detail paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({ "20" })
+    public int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+
+    private MovieMapper movieMapper;
+
+    private TwitterMapper twitterMapper;
+
+    private Movie movie;
+
+    private MovieDTO movieDTO;
+
+    private List<Twitter> twitters;
+
+    @Setup
+    public void setUp() {
+        // The generated mappers are wired to each other by Spring
+        context = new AnnotationConfigApplicationContext(MapperBenchmark.class.getPackageName());
+        movieMapper = context.getBean(MovieMapper.class);
+        twitterMapper = context.getBean(TwitterMapper.class);
+
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+        movie = new Movie()
+            .id(1L)
+            .name("The Benchmark")
+            .director("Jane Doe")
+            .synopsis("A developer measures the mappers of a movie application, one nanosecond at a time.")
+            .comment("Worth watching")
+            .startDate(Instant.parse("2021-06-01T00:00:00Z"))
+            .image(new Image().id(1L).contentType("image/png").size(150_000L).sha256("0".repeat(64)))
+            .user(user);
+        movieDTO = movieMapper.toDto(movie);
+        twitters = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            twitters.add(new Twitter().id((long) i).content("tweet " + i).pubDate(Instant.now()).publisher("@publisher").movie(movie));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MovieDTO movieToDto() {
+        return movieMapper.toDto(movie);
+    }
+
+    @Benchmark
+    public Movie movieToEntity() {
+        return movieMapper.toEntity(movieDTO);
+    }
+
+    @Benchmark
+    public List<TwitterDTO> twitterListToDto() {
+        return twitterMapper.toDto(twitters);
+    }
+}
@@ -0,0 +1,132 @@
+package com.yong.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yong.config.JacksonConfiguration;
+import com.yong.service.dto.ImageDTO;
+import com.yong.service.dto.MovieDTO;
+import com.yong.service.dto.NewsDTO;
+import com.yong.service.dto.UserDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the JSON serialization of a page of movies or news, as written by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    /**
+     * How the images are carried by the DTOs.
+     */
+    public enum Images {
+        /**
+         * No image.
+         */
+        NONE,
+        /**
+         * The image metadata, the bytes being served by the image endpoint.
+         */
+        METADATA,
+        /**
+         * The image bytes, base64-encoded in the JSON.
+         */
+        INLINE,
+    }
+
+    private static final int IMAGE_SIZE = 32 * 1024;
+
+    @Param({ "NONE", "METADATA", "INLINE" })
+    public Images images;
+
+    @Param({ "20" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<MovieDTO> movies;
+
+    private List<NewsDTO> news;
+
+    @Setup
+    public void setUp() {
+        // The modules registered by the application
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate5Module(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        byte[] imageData = new byte[IMAGE_SIZE];
+        new Random(42).nextBytes(imageData);
+        UserDTO user = new UserDTO(1L, "user");
+        movies = new ArrayList<>(pageSize);
+        news = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            MovieDTO movie = new MovieDTO();
+            movie.setId(i);
+            movie.setName("The Benchmark " + i);
+            movie.setDirector("Jane Doe");
+            movie.setSynopsis("A developer measures the serialization of a movie application, one microsecond at a time.");
+            movie.setComment("Worth watching");
+            movie.setStartDate(Instant.parse("2021-06-01T00:00:00Z"));
+            movie.setUser(user);
+            NewsDTO newsItem = new NewsDTO();
+            newsItem.setId(i);
+            newsItem.setHeaderline("Benchmarks are out " + i);
+            newsItem.setUrl("https://news.example.com/" + i);
+            newsItem.setPubDate(Instant.parse("2021-06-01T00:00:00Z"));
+            newsItem.setUser(user);
+            if (images != Images.NONE) {
+                movie.setImage(image(i));
+                newsItem.setImage(image(i));
+            }
+            if (images == Images.INLINE) {
+                movie.setImageData(imageData);
+                movie.setImageDataContentType("image/png");
+                newsItem.setImageData(imageData);
+                newsItem.setImageDataContentType("image/png");
+            }
+            movies.add(movie);
+            news.add(newsItem);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeMoviePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] serializeNewsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(news);
+    }
+
+    private static ImageDTO image(long id) {
+        ImageDTO image = new ImageDTO();
+        image.setId(id);
+        image.setContentType("image/png");
+        image.setSize((long) IMAGE_SIZE);
+        image.setSha256("0".repeat(64));
+        return image;
+    }
+}
@@ -0,0 +1,114 @@
+package com.yong.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and errors of the requests of a load test, by endpoint.
+ */
+class LatencyReport {
+
+    private static final double[] PERCENTILES = { 50, 95, 99, 99.9 };
+
+    private static final String[] PERCENTILE_NAMES = { "p50", "p95", "p99", "p999" };
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    /**
+     * Record a response, or a failure to get one.
+     *
+     * @param endpoint the method and path pattern of the request.
+     * @param latencyNanos the time from when the request was due to when its response was read.
+     * @param success whether the response was successful.
+     */
+    void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Compute the statistics of each endpoint.
+     *
+     * @param durationSeconds the duration of the measurement.
+     * @return the requests, errors, throughput and latency percentiles in milliseconds of each endpoint.
+     */
+    List<Map<String, Object>> summarize(double durationSeconds) {
+        List<Map<String, Object>> summary = new ArrayList<>();
+        endpoints.forEach(
+            (name, endpoint) -> {
+                Histogram histogram = endpoint.latencies.getIntervalHistogram();
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("endpoint", name);
+                stats.put("requests", histogram.getTotalCount());
+                stats.put("errors", endpoint.errors.sum());
+                stats.put("throughput", round(histogram.getTotalCount() / durationSeconds));
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    stats.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+                }
+                stats.put("max", millis(histogram.getMaxValue()));
+                summary.add(stats);
+            }
+        );
+        return summary;
+    }
+
+    static String toTable(List<Map<String, Object>> summary) {
+        String format = "%-28s %9s %7s %10s %9s %9s %9s %9s %9s%n";
+        StringBuilder table = new StringBuilder(
+            String.format(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms")
+        );
+        for (Map<String, Object> stats : summary) {
+            table.append(
+                String.format(
+                    format,
+                    stats.get("endpoint"),
+                    stats.get("requests"),
+                    stats.get("errors"),
+                    stats.get("throughput"),
+                    stats.get("p50"),
+                    stats.get("p95"),
+                    stats.get("p99"),
+                    stats.get("p999"),
+                    stats.get("max")
+                )
+            );
+        }
+        return table.toString();
+    }
+
+    static void writeJson(Path file, Map<String, Object> report) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000d);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100d;
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder latencies = new Recorder(3);
+
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,283 @@
+package com.yong.loadtest;
+
+import com.yong.MovieNewsApp;
+import com.yong.config.ApplicationProperties;
+import com.yong.config.Constants;
+import com.yong.service.PerfDataGenerator;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Load test of the REST API: starts the application on an H2 database seeded with the performance dataset, sends a
+ * mix of requests at a fixed rate, and reports the latency percentiles and throughput of each endpoint.
+ * <p>
+ * Requests are sent when due, whether or not the previous ones got their responses, and latencies are measured from
+ * when they were due: a slow server shows in the percentiles rather than in a lower rate.
+ * <p>
+ * Run with {@code ./mvnw -Pdev,loadtest verify}; the settings are the {@code loadtest} properties of
+ * {@code application-loadtest.yml}, which can be overridden with {@code -Dloadtest.args="--loadtest.rate=500"}.
+ */
+public final class LoadTest {
+
+    /**
+     * The kinds of requests of the mix.
+     */
+    enum Kind {
+        LIST,
+        DETAIL,
+        CREATE,
+        PATCH,
+        ACCOUNT,
+        LOGIN,
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int LIST_PAGES = 10;
+
+    private static final int LOGIN_USERS = 100;
+
+    private final Environment env;
+
+    private final URI baseUri;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int users;
+
+    private final Map<Kind, Integer> mix = new EnumMap<>(Kind.class);
+
+    private final int totalWeight;
+
+    private final List<Target> targets = new ArrayList<>();
+
+    private LoadTestClient client;
+
+    private LoadTest(ConfigurableApplicationContext context) {
+        this.env = context.getEnvironment();
+        this.baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/");
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.users = context.getBean(ApplicationProperties.class).getPerfData().getUsers();
+        int weights = 0;
+        for (Kind kind : Kind.values()) {
+            int weight = env.getProperty("loadtest.mix." + kind.name().toLowerCase(Locale.ROOT), Integer.class, 0);
+            mix.put(kind, weight);
+            weights += weight;
+        }
+        if (weights <= 0) {
+            throw new IllegalStateException("No request in loadtest.mix");
+        }
+        this.totalWeight = weights;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // The restart classloader of the devtools would start the application twice
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        addDefault(arguments, "spring.profiles.active", "loadtest," + Constants.SPRING_PROFILE_PERF_DATA);
+        addDefault(arguments, "server.port", "0");
+        int status;
+        try (ConfigurableApplicationContext context = new SpringApplication(MovieNewsApp.class).run(arguments.toArray(new String[0]))) {
+            status = new LoadTest(context).run();
+        }
+        System.exit(status);
+    }
+
+    private static void addDefault(List<String> arguments, String name, String value) {
+        if (arguments.stream().noneMatch(argument -> argument.startsWith("--" + name + "="))) {
+            arguments.add("--" + name + "=" + value);
+        }
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @return the exit status: 1 if an endpoint is slower than {@code loadtest.max-p99-millis}, 0 otherwise.
+     */
+    private int run() throws Exception {
+        int rate = env.getProperty("loadtest.rate", Integer.class, 200);
+        long warmUpSeconds = env.getProperty("loadtest.warm-up-seconds", Long.class, 10L);
+        long durationSeconds = env.getProperty("loadtest.duration-seconds", Long.class, 60L);
+        int maxInFlight = env.getProperty("loadtest.max-in-flight", Integer.class, 256);
+        double maxP99Millis = env.getProperty("loadtest.max-p99-millis", Double.class, 0d);
+        Random random = new Random(env.getProperty("loadtest.seed", Long.class, 42L));
+
+        client = new LoadTestClient(baseUri);
+        client.login(PerfDataGenerator.LOGIN_PREFIX + 1, PerfDataGenerator.PASSWORD);
+        targets.add(
+            new Target(
+                "movies",
+                ids("movie"),
+                n -> "{\"name\":\"Load test " + n + "\",\"director\":\"Load test\",\"startDate\":\"2021-06-01T00:00:00Z\"}",
+                n -> "\"comment\":\"Patched " + n + "\""
+            )
+        );
+        targets.add(
+            new Target(
+                "news",
+                ids("news"),
+                n -> "{\"headerline\":\"Load test " + n + "\",\"url\":\"https://news.example.com/load-test/" + n + "\"}",
+                n -> "\"headerline\":\"Patched " + n + "\""
+            )
+        );
+        targets.add(
+            new Target(
+                "twitters",
+                ids("twitter"),
+                n -> "{\"content\":\"Load test " + n + "\",\"publisher\":\"@loadtest\",\"pubDate\":\"2021-06-01T00:00:00Z\"}",
+                n -> "\"content\":\"Patched " + n + "\""
+            )
+        );
+
+        log.info("Sending {} requests/s for {}s of warm-up and {}s of measurement, mix {}", rate, warmUpSeconds, durationSeconds, mix);
+        LatencyReport report = new LatencyReport();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(warmUpSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (long n = 0;; n++) {
+            long due = start + n * TimeUnit.SECONDS.toNanos(1) / rate;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            Request request = nextRequest(random, n);
+            boolean measured = due >= measureStart;
+            client
+                .sendAsync(request.httpRequest)
+                .whenComplete(
+                    (response, error) -> {
+                        long latency = System.nanoTime() - due;
+                        inFlight.release();
+                        if (measured) {
+                            report.record(request.endpoint, latency, error == null && response.statusCode() < 400);
+                        }
+                    }
+                );
+        }
+        // Wait for the last responses
+        inFlight.acquire(maxInFlight);
+
+        List<Map<String, Object>> summary = report.summarize(durationSeconds);
+        log.info("Load test results:\n{}", LatencyReport.toTable(summary));
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("rate", rate);
+        json.put("durationSeconds", durationSeconds);
+        json.put("mix", mix);
+        json.put("endpoints", summary);
+        String reportFile = env.getProperty("loadtest.report", "target/loadtest-report.json");
+        LatencyReport.writeJson(Paths.get(reportFile), json);
+        log.info("Load test report written to {}", reportFile);
+
+        if (maxP99Millis > 0) {
+            for (Map<String, Object> stats : summary) {
+                if ((Double) stats.get("p99") > maxP99Millis) {
+                    log.error("p99 latency of {} is {} ms, above {} ms", stats.get("endpoint"), stats.get("p99"), maxP99Millis);
+                    return 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private long[] ids(String table) {
+        return jdbcTemplate.queryForList("select id from " + table, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Request nextRequest(Random random, long n) {
+        Kind kind = nextKind(random);
+        Target target = targets.get(random.nextInt(targets.size()));
+        String path = "api/" + target.name;
+        switch (kind) {
+            case LIST:
+                return new Request("GET /" + path, client.get(path + "?page=" + random.nextInt(LIST_PAGES) + "&size=20&sort=id,desc"));
+            case DETAIL:
+                return new Request("GET /" + path + "/{id}", client.get(path + "/" + target.randomId(random)));
+            case CREATE:
+                return new Request("POST /" + path, client.post(path, target.createBody.apply((int) n)));
+            case PATCH:
+                long id = target.randomId(random);
+                String body = "{\"id\":" + id + "," + target.patchField.apply((int) n) + "}";
+                return new Request("PATCH /" + path + "/{id}", client.patch(path + "/" + id, body));
+            case ACCOUNT:
+                return new Request("GET /api/account", client.get("api/account"));
+            case LOGIN:
+                String login = PerfDataGenerator.LOGIN_PREFIX + (1 + random.nextInt(Math.min(users, LOGIN_USERS)));
+                return new Request("POST /api/authentication", client.authentication(login, PerfDataGenerator.PASSWORD));
+            default:
+                throw new IllegalStateException("Unknown request kind: " + kind);
+        }
+    }
+
+    private Kind nextKind(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<Kind, Integer> weight : mix.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Request kind out of the mix: " + pick);
+    }
+
+    /**
+     * An entity type, with the ids of the existing rows, and the bodies of the requests creating and patching them.
+     */
+    private static final class Target {
+
+        private final String name;
+
+        private final long[] ids;
+
+        private final IntFunction<String> createBody;
+
+        private final IntFunction<String> patchField;
+
+        Target(String name, long[] ids, IntFunction<String> createBody, IntFunction<String> patchField) {
+            this.name = name;
+            this.ids = ids;
+            this.createBody = createBody;
+            this.patchField = patchField;
+        }
+
+        long randomId(Random random) {
+            return ids[random.nextInt(ids.length)];
+        }
+    }
+
+    private static final class Request {
+
+        private final String endpoint;
+
+        private final HttpRequest httpRequest;
+
+        Request(String endpoint, HttpRequest httpRequest) {
+            this.endpoint = endpoint;
+            this.httpRequest = httpRequest;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.yong.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client of the load test, logged in as one user.
+ * <p>
+ * Cookies are handled by hand, so that requests can be sent concurrently: the session cookie is sent with every
+ * request, and the CSRF token is a constant, sent both as the cookie and the header the server compares.
+ */
+class LoadTestClient {
+
+    private static final String CSRF_TOKEN = "loadtest";
+
+    private static final String SESSION_COOKIE = "JSESSIONID";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+
+    private final HttpClient httpClient;
+
+    private String sessionCookie = "";
+
+    LoadTestClient(URI baseUri) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(TIMEOUT).build();
+    }
+
+    /**
+     * Log in, the following requests being sent in the session of the user.
+     *
+     * @param username the login of the user.
+     * @param password the password of the user.
+     * @throws IOException if the server cannot be reached.
+     * @throws InterruptedException if interrupted while waiting for the server.
+     */
+    void login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(authentication(username, password), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + username + " failed with status " + response.statusCode());
+        }
+        sessionCookie =
+            response
+                .headers()
+                .allValues("Set-Cookie")
+                .stream()
+                .filter(cookie -> cookie.startsWith(SESSION_COOKIE + "="))
+                .map(cookie -> cookie.split(";", 2)[0])
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No session cookie in the login response of " + username));
+    }
+
+    /**
+     * @return a request logging a user in, outside of the session of this client.
+     */
+    HttpRequest authentication(String username, String password) {
+        String form =
+            "username=" +
+            URLEncoder.encode(username, StandardCharsets.UTF_8) +
+            "&password=" +
+            URLEncoder.encode(password, StandardCharsets.UTF_8) +
+            "&remember-me=true";
+        return HttpRequest
+            .newBuilder(baseUri.resolve("api/authentication"))
+            .timeout(TIMEOUT)
+            .header("Cookie", "XSRF-TOKEN=" + CSRF_TOKEN)
+            .header("X-XSRF-TOKEN", CSRF_TOKEN)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+    }
+
+    HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    HttpRequest patch(String path, String json) {
+        return request(path)
+            .header("Content-Type", "application/merge-patch+json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    CompletableFuture<HttpResponse<Void>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest
+            .newBuilder(baseUri.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json")
+            .header("Cookie", sessionCookie + "; XSRF-TOKEN=" + CSRF_TOKEN)
+            .header("X-XSRF-TOKEN", CSRF_TOKEN);
+    }
+}
@@ -1,5 +1,8 @@
 package com.yong.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,651 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final ImageStorage imageStorage = new ImageStorage();
+
+    private final Batch batch = new Batch();
+
+    private final PerfData perfData = new PerfData();
+
+    private final QueryCount queryCount = new QueryCount();
+
+    private final RememberMe rememberMe = new RememberMe();
+
+    private final Cache cache = new Cache();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    public ImageStorage getImageStorage() {
+        return imageStorage;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public PerfData getPerfData() {
+        return perfData;
+    }
+
+    public QueryCount getQueryCount() {
+        return queryCount;
+    }
+
+    public RememberMe getRememberMe() {
+        return rememberMe;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public static class ImageStorage {
+
+        /**
+         * Where the image bytes are kept.
+         */
+        public enum Type {
+            /**
+             * In the {@code image_content} table.
+             */
+            DATABASE,
+            /**
+             * In a content-addressed directory, the database only keeping the hash.
+             */
+            FILESYSTEM,
+        }
+
+        private Type type = Type.DATABASE;
+
+        private String directory = "data/images";
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    public static class Batch {
+
+        /**
+         * Number of entities written per transaction.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Number of batch requests processed at the same time, further requests being rejected until one completes.
+         */
+        private int maxConcurrentRequests = 2;
+
+        /**
+         * Number of threads converting and writing the rows of a CSV import, the file being parsed on one more.
+         */
+        private int importWorkers = 3;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public int getImportWorkers() {
+            return importWorkers;
+        }
+
+        public void setImportWorkers(int importWorkers) {
+            this.importWorkers = importWorkers;
+        }
+    }
+
+    public static class PerfData {
+
+        /**
+         * Seed of the generator: the same seed and sizes always generate the same rows.
+         */
+        private long seed = 42;
+
+        private int users = 10_000;
+
+        private int movies = 500_000;
+
+        private int news = 500_000;
+
+        private int tweets = 9_000_000;
+
+        /**
+         * Concentration of the tweets on few movies: 1 spreads them evenly, 3 gives a fifth of them to 1% of the movies.
+         */
+        private double tweetSkew = 3;
+
+        /**
+         * Number of distinct images, shared by the movies and news which have one.
+         */
+        private int images = 500;
+
+        /**
+         * Share of the movies and news having an image.
+         */
+        private double imageRatio = 0.8;
+
+        /**
+         * Median size of the images in bytes, sizes being log-normally distributed around it.
+         */
+        private int imageMedianSize = 150_000;
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public int getMovies() {
+            return movies;
+        }
+
+        public void setMovies(int movies) {
+            this.movies = movies;
+        }
+
+        public int getNews() {
+            return news;
+        }
+
+        public void setNews(int news) {
+            this.news = news;
+        }
+
+        public int getTweets() {
+            return tweets;
+        }
+
+        public void setTweets(int tweets) {
+            this.tweets = tweets;
+        }
+
+        public double getTweetSkew() {
+            return tweetSkew;
+        }
+
+        public void setTweetSkew(double tweetSkew) {
+            this.tweetSkew = tweetSkew;
+        }
+
+        public int getImages() {
+            return images;
+        }
+
+        public void setImages(int images) {
+            this.images = images;
+        }
+
+        public double getImageRatio() {
+            return imageRatio;
+        }
+
+        public void setImageRatio(double imageRatio) {
+            this.imageRatio = imageRatio;
+        }
+
+        public int getImageMedianSize() {
+            return imageMedianSize;
+        }
+
+        public void setImageMedianSize(int imageMedianSize) {
+            this.imageMedianSize = imageMedianSize;
+        }
+    }
+
+    public static class QueryCount {
+
+        /**
+         * Whether the SQL statements of the REST requests are counted, and published as metrics.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether the data source is wrapped to count the rows read too, and the statements run outside of Hibernate,
+         * rather than counting the statements of Hibernate only, from its session events. Meant for development.
+         */
+        private boolean jdbcProxy = false;
+
+        /**
+         * Whether the number of statements of a request is sent in its X-Query-Count response header.
+         */
+        private boolean header = false;
+
+        /**
+         * Maximum number of statements of a request, 0 for no maximum.
+         */
+        private int statementBudget = 0;
+
+        /**
+         * Maximum number of executions of a same statement by a request, catching N+1 selects, 0 for no maximum.
+         */
+        private int repeatedStatementBudget = 0;
+
+        /**
+         * Whether a request over budget fails, rather than being logged.
+         */
+        private boolean failOnBudgetExceeded = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isJdbcProxy() {
+            return jdbcProxy;
+        }
+
+        public void setJdbcProxy(boolean jdbcProxy) {
+            this.jdbcProxy = jdbcProxy;
+        }
+
+        public boolean isHeader() {
+            return header;
+        }
+
+        public void setHeader(boolean header) {
+            this.header = header;
+        }
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public void setStatementBudget(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+
+        public int getRepeatedStatementBudget() {
+            return repeatedStatementBudget;
+        }
+
+        public void setRepeatedStatementBudget(int repeatedStatementBudget) {
+            this.repeatedStatementBudget = repeatedStatementBudget;
+        }
+
+        public boolean isFailOnBudgetExceeded() {
+            return failOnBudgetExceeded;
+        }
+
+        public void setFailOnBudgetExceeded(boolean failOnBudgetExceeded) {
+            this.failOnBudgetExceeded = failOnBudgetExceeded;
+        }
+    }
+
+    public static class RememberMe {
+
+        /**
+         * Whether the date, IP address and user agent of the refreshed remember-me tokens are written in the
+         * background, coalesced by series, the new token values still being written before the cookies are sent.
+         */
+        private boolean writeBehind = false;
+
+        /**
+         * Delay between two writes of the pending token updates, as an ISO-8601 duration.
+         */
+        private Duration flushInterval = Duration.ofSeconds(5);
+
+        /**
+         * Number of token updates written per transaction.
+         */
+        private int flushBatchSize = 500;
+
+        public boolean isWriteBehind() {
+            return writeBehind;
+        }
+
+        public void setWriteBehind(boolean writeBehind) {
+            this.writeBehind = writeBehind;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getFlushBatchSize() {
+            return flushBatchSize;
+        }
+
+        public void setFlushBatchSize(int flushBatchSize) {
+            this.flushBatchSize = flushBatchSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, required by the regions having one.
+         */
+        private String diskDirectory;
+
+        /**
+         * Tiers and expiration of the cache regions, by name: the cache name, or the entity name without the domain
+         * package, such as {@code Movie} or {@code Movie.twitters}. Regions which are not listed keep the
+         * {@code jhipster.cache.ehcache} settings.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        /**
+         * Delay between two counts of the entries of the regions, which go through all of them, as an ISO-8601 duration.
+         */
+        private Duration sizeRefreshInterval = Duration.ofMinutes(1);
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public Duration getSizeRefreshInterval() {
+            return sizeRefreshInterval;
+        }
+
+        public void setSizeRefreshInterval(Duration sizeRefreshInterval) {
+            this.sizeRefreshInterval = sizeRefreshInterval;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries of the heap tier, used when no heap size is set.
+             */
+            private long heapEntries;
+
+            /**
+             * Size of the heap tier in MB, the entries being measured as they are stored.
+             */
+            private long heapMb;
+
+            /**
+             * Size of the off-heap tier in MB, 0 for none, which must be above the heap size.
+             */
+            private long offHeapMb;
+
+            /**
+             * Size of the disk tier in MB, 0 for none, which must be above the off-heap size.
+             */
+            private long diskMb;
+
+            /**
+             * Whether the disk tier is kept across restarts, so that the region starts warm. Not for the entity
+             * regions: their entries are read back by property index, and go stale when the database is changed by
+             * a deploy.
+             */
+            private boolean diskPersistent;
+
+            /**
+             * Time after which an entry expires once written, defaulting to {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time after which an entry expires once last read, none by default: each read then sets the expiration
+             * of the entry to this time from the read, which may extend it past its time to live.
+             */
+            private Duration timeToIdle;
+
+            public long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getHeapMb() {
+                return heapMb;
+            }
+
+            public void setHeapMb(long heapMb) {
+                this.heapMb = heapMb;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether the hot entries are loaded on startup, the readiness group staying down meanwhile.
+             */
+            private boolean enabled;
+
+            /**
+             * Number of newest movies loaded.
+             */
+            private int movies = 100;
+
+            /**
+             * Number of newest news loaded.
+             */
+            private int news = 100;
+
+            /**
+             * Number of activated users, most recently modified first, loaded in the {@code usersByLogin} cache.
+             */
+            private int users = 100;
+
+            /**
+             * Entities loaded by each query of the movies and news.
+             */
+            private int pageSize = 50;
+
+            /**
+             * Queries run at once, which must leave enough connections of the pool to the first requests.
+             */
+            private int concurrency = 4;
+
+            /**
+             * Time after which the application gets ready with the caches only partly loaded, waiting for Liquibase included.
+             */
+            private Duration timeout = Duration.ofMinutes(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMovies() {
+                return movies;
+            }
+
+            public void setMovies(int movies) {
+                this.movies = movies;
+            }
+
+            public int getNews() {
+                return news;
+            }
+
+            public void setNews(int news) {
+                this.news = news;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+
+            public int getPageSize() {
+                return pageSize;
+            }
+
+            public void setPageSize(int pageSize) {
+                this.pageSize = pageSize;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+
+    public static class ResponseCache {
+
+        /**
+         * Whether the first pages of the movie, news and twitter lists are kept, serialized.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of pages kept for each sort order and page size, from the first one.
+         */
+        private int pages = 1;
+
+        /**
+         * Maximum number of responses kept for each list, new responses not being kept beyond.
+         */
+        private int maxEntries = 100;
+
+        /**
+         * Time after which a response is dropped, catching the changes which publish no event, such as a renamed user.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+
+        public void setPages(int pages) {
+            this.pages = pages;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
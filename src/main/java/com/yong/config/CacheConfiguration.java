@@ -1,9 +1,24 @@
 package com.yong.config;
 
+import java.io.File;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.config.store.heap.DefaultSizeOfEngineProviderConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -15,16 +30,33 @@ import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Configuration of the Ehcache regions.
+ * <p>
+ * Regions get a heap tier of {@code jhipster.cache.ehcache.max-entries} entries, unless configured in
+ * {@code application.cache.regions}, which can size the heap tier in MB, add off-heap and disk tiers, and set the
+ * expiration of each region: large entities can be kept off-heap, out of reach of the garbage collector, or on disk.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = "com.yong.domain.";
+
+    // Objects walked to measure an entry of a heap tier sized in MB, enough for an entity and its collections
+    private static final long MAX_OBJECT_GRAPH_SIZE = 100_000;
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
 
         jcacheConfiguration =
             Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +67,25 @@ public class CacheConfiguration {
             );
     }
 
+    /**
+     * The JCache manager, in place of the one of Spring Boot, to configure the directory of the disk tiers.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        List<ServiceCreationConfiguration<?, ?>> services = new ArrayList<>();
+        services.add(new DefaultSizeOfEngineProviderConfiguration(Long.MAX_VALUE, MemoryUnit.B, MAX_OBJECT_GRAPH_SIZE));
+        if (cacheProperties.getDiskDirectory() != null) {
+            services.add(new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskDirectory())));
+        }
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+            provider.getDefaultURI(),
+            new DefaultConfiguration(provider.getDefaultClassLoader(), services.toArray(new ServiceCreationConfiguration<?, ?>[0]))
+        );
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
@@ -50,10 +101,14 @@ public class CacheConfiguration {
             createCache(cm, com.yong.domain.User.class.getName() + ".authorities");
             createCache(cm, com.yong.domain.PersistentToken.class.getName());
             createCache(cm, com.yong.domain.User.class.getName() + ".persistentTokens");
+            createCache(cm, com.yong.repository.MovieRepository.MOVIES_BY_USER_CACHE);
+            createCache(cm, com.yong.repository.NewsRepository.NEWS_BY_USER_CACHE);
             createCache(cm, com.yong.domain.Movie.class.getName());
             createCache(cm, com.yong.domain.Movie.class.getName() + ".twitters");
             createCache(cm, com.yong.domain.News.class.getName());
             createCache(cm, com.yong.domain.Twitter.class.getName());
+            createCache(cm, com.yong.domain.Image.class.getName());
+            createCache(cm, com.yong.domain.ImageRendition.class.getName());
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -63,8 +118,60 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configurationOf(cacheName));
+        }
+        // Published as the cache.gets, cache.puts, cache.evictions and cache.removals metrics
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Get the configuration of a cache: the one of its region, looked up by cache name then by entity name, or the
+     * default one.
+     */
+    javax.cache.configuration.Configuration<Object, Object> configurationOf(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(cacheName);
+        if (region == null && cacheName.startsWith(DOMAIN_PACKAGE)) {
+            region = cacheProperties.getRegions().get(cacheName.substring(DOMAIN_PACKAGE.length()));
+        }
+        if (region == null) {
+            return jcacheConfiguration;
+        }
+        ResourcePoolsBuilder pools = region.getHeapMb() > 0
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeapMb(), MemoryUnit.MB)
+            : ResourcePoolsBuilder.heap(region.getHeapEntries() > 0 ? region.getHeapEntries() : ehcache.getMaxEntries());
+        if (region.getOffHeapMb() > 0) {
+            pools = pools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() > 0) {
+            pools = pools.disk(region.getDiskMb(), MemoryUnit.MB, region.isDiskPersistent());
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+            .withExpiry(expiryOf(region));
+        if (region.getOffHeapMb() > 0 || region.getDiskMb() > 0) {
+            // Entries leaving the heap are serialized, the cache keys and entries of Hibernate being Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder =
+                builder
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        log.debug(
+            "Cache region {}: heap {} MB, off-heap {} MB, disk {} MB",
+            cacheName,
+            region.getHeapMb(),
+            region.getOffHeapMb(),
+            region.getDiskMb()
+        );
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    private ExpiryPolicy<Object, Object> expiryOf(ApplicationProperties.Cache.Region region) {
+        Duration timeToLive = region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        if (region.getTimeToIdle() == null) {
+            return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
         }
+        return ExpiryPolicyBuilder.expiry().create(timeToLive).access(region.getTimeToIdle()).update(timeToLive).build();
     }
 
     @Autowired(required = false)
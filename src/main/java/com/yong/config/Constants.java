@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Profile generating the performance dataset on startup
+    public static final String SPRING_PROFILE_PERF_DATA = "perf-data";
+
     private Constants() {}
 }
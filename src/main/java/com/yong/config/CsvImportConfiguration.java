@@ -0,0 +1,53 @@
+package com.yong.config;
+
+import com.yong.service.CsvImportService;
+import com.yong.service.dto.ImportResultDTO;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the command line CSV import.
+ * <p>
+ * Starting the application with {@code --import-csv=<table>=<file>}, for instance
+ * {@code --import-csv=movie=src/main/resources/config/liquibase/fake-data/movie.csv}, imports the file, then exits.
+ * The option can be repeated, files being imported in order. Image paths are resolved against the directory of the
+ * file.
+ */
+@Configuration
+public class CsvImportConfiguration {
+
+    public static final String IMPORT_CSV_OPTION = "import-csv";
+
+    private final Logger log = LoggerFactory.getLogger(CsvImportConfiguration.class);
+
+    @Bean
+    public ApplicationRunner csvImportRunner(CsvImportService csvImportService, ConfigurableApplicationContext applicationContext) {
+        return args -> {
+            if (args.containsOption(IMPORT_CSV_OPTION)) {
+                for (String value : args.getOptionValues(IMPORT_CSV_OPTION)) {
+                    int separator = value.indexOf('=');
+                    if (separator < 0) {
+                        throw new IllegalArgumentException("Expected --" + IMPORT_CSV_OPTION + "=<table>=<file>, got: " + value);
+                    }
+                    CsvImportService.Table table = CsvImportService.Table.fromName(value.substring(0, separator));
+                    Path file = Paths.get(value.substring(separator + 1)).toAbsolutePath();
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        ImportResultDTO result = csvImportService.importCsv(table, reader, file.getParent());
+                        result.getErrors().forEach(error -> log.warn("Rejected record {} of {}: {}", error.getIndex(), file, error.getMessage()));
+                    }
+                }
+                System.exit(SpringApplication.exit(applicationContext));
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.yong.config;
+
+import com.yong.repository.ImageContentRepository;
+import com.yong.repository.ImageRepository;
+import com.yong.service.DatabaseImageContentStore;
+import com.yong.service.FileSystemImageContentStore;
+import com.yong.service.ImageContentStore;
+import com.yong.service.ImageStorageMigrationService;
+import java.nio.file.Paths;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the image storage backend.
+ * <p>
+ * Starting the application with {@code --migrate-images} copies the images kept in the database to the
+ * filesystem store directory, then exits.
+ */
+@Configuration
+public class ImageStorageConfiguration {
+
+    public static final String MIGRATE_IMAGES_OPTION = "migrate-images";
+
+    private final Logger log = LoggerFactory.getLogger(ImageStorageConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    public ImageStorageConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public ImageContentStore imageContentStore(
+        ImageRepository imageRepository,
+        ImageContentRepository imageContentRepository,
+        DataSource dataSource
+    ) {
+        ApplicationProperties.ImageStorage imageStorage = applicationProperties.getImageStorage();
+        if (imageStorage.getType() == ApplicationProperties.ImageStorage.Type.FILESYSTEM) {
+            log.debug("Storing images in {}", imageStorage.getDirectory());
+            return new FileSystemImageContentStore(Paths.get(imageStorage.getDirectory()), imageRepository);
+        }
+        log.debug("Storing images in the database");
+        return new DatabaseImageContentStore(imageContentRepository, dataSource);
+    }
+
+    @Bean
+    public ApplicationRunner imageStorageMigrationRunner(
+        ImageStorageMigrationService imageStorageMigrationService,
+        ConfigurableApplicationContext applicationContext
+    ) {
+        return args -> {
+            if (args.containsOption(MIGRATE_IMAGES_OPTION)) {
+                imageStorageMigrationService.migrateToFileSystem();
+                System.exit(SpringApplication.exit(applicationContext));
+            }
+        };
+    }
+}
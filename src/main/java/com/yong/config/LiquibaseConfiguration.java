@@ -1,5 +1,6 @@
 package com.yong.config;
 
+import com.yong.config.liquibase.LiquibaseCompletion;
 import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
@@ -28,9 +29,15 @@ public class LiquibaseConfiguration {
         this.env = env;
     }
 
+    @Bean
+    public LiquibaseCompletion liquibaseCompletion() {
+        return new LiquibaseCompletion();
+    }
+
     @Bean
     public SpringLiquibase liquibase(
         @Qualifier("taskExecutor") Executor executor,
+        LiquibaseCompletion liquibaseCompletion,
         @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
         LiquibaseProperties liquibaseProperties,
         ObjectProvider<DataSource> dataSource,
@@ -40,7 +47,7 @@ public class LiquibaseConfiguration {
         // SpringLiquibase liquibase = SpringLiquibaseUtil.createSpringLiquibase(liquibaseDataSource.getIfAvailable(), liquibaseProperties, dataSource.getIfUnique(), dataSourceProperties);
         SpringLiquibase liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
             this.env,
-            executor,
+            liquibaseCompletion.track(executor),
             liquibaseDataSource.getIfAvailable(),
             liquibaseProperties,
             dataSource.getIfUnique(),
@@ -0,0 +1,20 @@
+package com.yong.config;
+
+import com.yong.service.PerfDataGenerator;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration of the performance dataset, generated on startup when the {@code perf-data} profile is active.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_PERF_DATA)
+public class PerfDataConfiguration {
+
+    @Bean
+    public ApplicationRunner perfDataRunner(PerfDataGenerator perfDataGenerator, ApplicationProperties applicationProperties) {
+        return args -> perfDataGenerator.generate(applicationProperties.getPerfData());
+    }
+}
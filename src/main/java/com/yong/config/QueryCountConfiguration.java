@@ -0,0 +1,63 @@
+package com.yong.config;
+
+import com.yong.config.jdbc.QueryCountSessionListener;
+import com.yong.config.jdbc.QueryCountStatementInspector;
+import com.yong.config.jdbc.QueryCountingDataSource;
+import com.yong.web.filter.QueryCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration counting the SQL statements of the REST requests.
+ * <p>
+ * The {@link QueryCountFilter} counts the statements of each {@code /api} request. They are counted by Hibernate, from
+ * its session events, or with {@code application.query-count.jdbc-proxy=true} by wrapping the data source in a
+ * {@link QueryCountingDataSource}, which counts the rows read too but proxies every connection, statement and result
+ * set. Disabled with {@code application.query-count.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.query-count", name = "jdbc-proxy", havingValue = "true")
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.query-count", name = "jdbc-proxy", havingValue = "false", matchIfMissing = true)
+    public HibernatePropertiesCustomizer queryCountHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryCountSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+            new QueryCountFilter(applicationProperties.getQueryCount(), meterRegistry)
+        );
+        registration.addUrlPatterns("/api/*");
+        // Ahead of the security filters, so that the statements loading the user are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
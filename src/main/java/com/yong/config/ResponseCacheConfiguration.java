@@ -0,0 +1,48 @@
+package com.yong.config;
+
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import com.yong.domain.Twitter;
+import com.yong.web.filter.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration keeping the first pages of the movie, news and twitter lists.
+ * <p>
+ * The {@link ResponseCacheFilter} is a bean, so that it receives the changes of the entities. Disabled with
+ * {@code application.response-cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfiguration {
+
+    private static final String MOVIES = "/api/movies";
+
+    private static final String NEWS = "/api/news";
+
+    private static final String TWITTERS = "/api/twitters";
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ResponseCacheFilter filter = new ResponseCacheFilter(applicationProperties.getResponseCache(), meterRegistry);
+        filter.addList(MOVIES, Movie.class);
+        filter.addList(NEWS, News.class);
+        // The twitters only show the id of their movie
+        filter.addList(TWITTERS, Twitter.class);
+        return filter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilterRegistration(ResponseCacheFilter responseCacheFilter) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(responseCacheFilter);
+        registration.addUrlPatterns(MOVIES, NEWS, TWITTERS);
+        // Behind the security filters, so that only authenticated requests get the kept pages
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
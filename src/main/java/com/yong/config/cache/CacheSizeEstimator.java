@@ -0,0 +1,177 @@
+package com.yong.config.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.CacheManager;
+import org.ehcache.config.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimator of the number of entries and of the size of the cache regions, published as the {@code cache.entries} and
+ * {@code cache.estimated.bytes} metrics.
+ * <p>
+ * JCache does not give the size of a cache: the entries of each region are counted by going through them every
+ * {@code application.cache.size-refresh-interval}, without updating their statistics nor their expiration, and their
+ * size is estimated from the serialized size of the first {@value #SAMPLE_SIZE} of them.
+ * <p>
+ * Regions with off-heap or disk tiers are not measured, as going through them would read and deserialize every entry
+ * kept out of the heap: they have no such metrics.
+ */
+@Component
+public class CacheSizeEstimator {
+
+    private static final int SAMPLE_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(CacheSizeEstimator.class);
+
+    private final CacheManager cacheManager;
+
+    private final Map<String, Size> sizes = new ConcurrentHashMap<>();
+
+    public CacheSizeEstimator(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (!isHeapOnly(cacheManager.getCache(cacheName))) {
+                sizes.put(cacheName, Size.NOT_MEASURED);
+                continue;
+            }
+            sizes.put(cacheName, new Size(0, 0));
+            Gauge
+                .builder("cache.entries", sizes, s -> s.get(cacheName).entries)
+                .description("Entries of the cache, as last counted")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+            Gauge
+                .builder("cache.estimated.bytes", sizes, s -> s.get(cacheName).estimatedBytes)
+                .description("Serialized size of the entries of the cache, estimated from a sample of them")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Get the size of the cache regions, as last counted.
+     *
+     * @return the size by cache name, {@link Size#NOT_MEASURED} for the regions with off-heap or disk tiers.
+     */
+    public Map<String, Size> getSizes() {
+        return sizes;
+    }
+
+    /**
+     * Count the entries of the cache regions, and estimate their size.
+     * <p>
+     * This is scheduled to get fired every {@code application.cache.size-refresh-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.size-refresh-interval:PT1M}")
+    public void refresh() {
+        for (String cacheName : sizes.keySet()) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache != null && !cache.isClosed() && sizes.get(cacheName).isMeasured()) {
+                sizes.put(cacheName, measure(cache.unwrap(org.ehcache.Cache.class)));
+            }
+        }
+        log.debug("Cache sizes: {}", sizes);
+    }
+
+    private static boolean isHeapOnly(javax.cache.Cache<Object, Object> cache) {
+        return cache
+            .unwrap(org.ehcache.Cache.class)
+            .getRuntimeConfiguration()
+            .getResourcePools()
+            .getResourceTypeSet()
+            .stream()
+            .allMatch(ResourceType.Core.HEAP::equals);
+    }
+
+    private Size measure(org.ehcache.Cache<?, ?> cache) {
+        long entries = 0;
+        long sampleBytes = 0;
+        int sampled = 0;
+        // The iterator of Ehcache reads the entries without counting them as hits
+        for (org.ehcache.Cache.Entry<?, ?> entry : cache) {
+            entries++;
+            if (sampled < SAMPLE_SIZE) {
+                try {
+                    sampleBytes += serializedSize(entry.getKey()) + serializedSize(entry.getValue());
+                    sampled++;
+                } catch (IOException e) {
+                    log.trace("Cannot serialize an entry of {}", cache, e);
+                }
+            }
+        }
+        return new Size(entries, sampled == 0 ? 0 : sampleBytes * entries / sampled);
+    }
+
+    private static long serializedSize(Object object) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(object);
+        }
+        return out.count;
+    }
+
+    /**
+     * The number of entries of a cache region, and their estimated size.
+     */
+    public static final class Size {
+
+        /**
+         * The size of a region which is not measured.
+         */
+        public static final Size NOT_MEASURED = new Size(-1, -1);
+
+        private final long entries;
+
+        private final long estimatedBytes;
+
+        Size(long entries, long estimatedBytes) {
+            this.entries = entries;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        public boolean isMeasured() {
+            return this != NOT_MEASURED;
+        }
+
+        @Override
+        public String toString() {
+            if (!isMeasured()) {
+                return "not measured";
+            }
+            return entries + " entries, " + estimatedBytes + " bytes";
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.yong.config.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint giving the statistics of each cache region, at {@code /management/cache-stats}.
+ * <p>
+ * For each region: the hits, misses, puts, evictions and removals counted by JCache since the start, the entries and
+ * estimated size last measured by the {@link CacheSizeEstimator} for the regions kept on heap only, and for the
+ * second-level cache regions the hits, misses and puts counted by Hibernate, when {@code hibernate.generate_statistics}
+ * is on.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final CacheManager cacheManager;
+
+    private final CacheSizeEstimator cacheSizeEstimator;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatsEndpoint(CacheManager cacheManager, CacheSizeEstimator cacheSizeEstimator, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.cacheSizeEstimator = cacheSizeEstimator;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cacheStats() {
+        Statistics hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Set<String> hibernateRegions = Set.of(hibernateStatistics.getSecondLevelCacheRegionNames());
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String cacheName : new TreeSet<>(cacheSizeEstimator.getSizes().keySet())) {
+            CacheRegionStatistics hibernateRegion = hibernateRegions.contains(cacheName)
+                ? hibernateStatistics.getCacheRegionStatistics(cacheName)
+                : null;
+            regions.put(cacheName, regionStats(cacheName, hibernateRegion));
+        }
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("statisticsEnabled", hibernateStatistics.isStatisticsEnabled());
+        hibernate.put("hits", hibernateStatistics.getSecondLevelCacheHitCount());
+        hibernate.put("misses", hibernateStatistics.getSecondLevelCacheMissCount());
+        hibernate.put("puts", hibernateStatistics.getSecondLevelCachePutCount());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("regions", regions);
+        stats.put("hibernate", hibernate);
+        return stats;
+    }
+
+    private Map<String, Object> regionStats(String cacheName, CacheRegionStatistics hibernateRegion) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        CacheStatisticsMXBean statistics = jcacheStatistics(cacheName);
+        if (statistics != null) {
+            stats.put("hits", statistics.getCacheHits());
+            stats.put("misses", statistics.getCacheMisses());
+            stats.put("hitRatio", statistics.getCacheHitPercentage() / 100);
+            stats.put("puts", statistics.getCachePuts());
+            stats.put("evictions", statistics.getCacheEvictions());
+            stats.put("removals", statistics.getCacheRemovals());
+        }
+        CacheSizeEstimator.Size size = cacheSizeEstimator.getSizes().get(cacheName);
+        if (size.isMeasured()) {
+            stats.put("entries", size.getEntries());
+            stats.put("estimatedBytes", size.getEstimatedBytes());
+        }
+        if (hibernateRegion != null) {
+            Map<String, Object> hibernate = new LinkedHashMap<>();
+            hibernate.put("hits", hibernateRegion.getHitCount());
+            hibernate.put("misses", hibernateRegion.getMissCount());
+            hibernate.put("puts", hibernateRegion.getPutCount());
+            stats.put("hibernate", hibernate);
+        }
+        return stats;
+    }
+
+    /**
+     * Get the statistics MBean that the JCache provider registers for a cache whose statistics are enabled.
+     */
+    private CacheStatisticsMXBean jcacheStatistics(String cacheName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(
+                "javax.cache:type=CacheStatistics,CacheManager=" +
+                sanitize(cacheManager.getURI().toString()) +
+                ",Cache=" +
+                sanitize(cacheName)
+            );
+            return server.isRegistered(name) ? JMX.newMXBeanProxy(server, name, CacheStatisticsMXBean.class) : null;
+        } catch (MalformedObjectNameException e) {
+            return null;
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll(",|:|=|\n", ".");
+    }
+}
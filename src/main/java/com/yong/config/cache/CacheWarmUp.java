@@ -0,0 +1,174 @@
+package com.yong.config.cache;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.config.liquibase.LiquibaseCompletion;
+import com.yong.domain.User;
+import com.yong.repository.MovieRepository;
+import com.yong.repository.NewsRepository;
+import com.yong.repository.UserRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loader of the hot entries in the caches on startup, once Liquibase has run, so that the first requests after a deploy
+ * do not all go to the database.
+ * <p>
+ * The newest movies and news are loaded in the second-level cache by pages, and the most recently modified activated
+ * users in the {@code usersByLogin} cache, at most {@code application.cache.warm-up.concurrency} queries at once. As a
+ * health indicator, included in the readiness group, this is down until the warm-up finishes or
+ * {@code application.cache.warm-up.timeout} passes.
+ */
+@Component
+public class CacheWarmUp implements HealthIndicator {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private final LiquibaseCompletion liquibaseCompletion;
+
+    private final MovieRepository movieRepository;
+
+    private final NewsRepository newsRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private volatile boolean done;
+
+    public CacheWarmUp(
+        LiquibaseCompletion liquibaseCompletion,
+        MovieRepository movieRepository,
+        NewsRepository newsRepository,
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.liquibaseCompletion = liquibaseCompletion;
+        this.movieRepository = movieRepository;
+        this.newsRepository = newsRepository;
+        this.userRepository = userRepository;
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.done = !properties.isEnabled();
+    }
+
+    @Override
+    public Health health() {
+        return done ? Health.up().build() : Health.down().withDetail("warmUp", "in progress").build();
+    }
+
+    /**
+     * Start the warm-up in the background, once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (done) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            warmUp();
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up not finished after {}, the caches are only partly loaded", properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed: {}", e.getMessage(), e);
+        } finally {
+            done = true;
+        }
+    }
+
+    /**
+     * Wait for Liquibase, then load the hot entries in the caches.
+     *
+     * @return the number of entities loaded.
+     * @throws TimeoutException if the warm-up did not finish in time, the remaining queries being cancelled.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public int warmUp() throws TimeoutException, InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        try {
+            liquibaseCompletion.whenDone().get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // Never completed exceptionally
+        }
+        List<Callable<Integer>> queries = new ArrayList<>();
+        addPages(queries, properties.getMovies(), movieRepository::findSliceBy);
+        addPages(queries, properties.getNews(), newsRepository::findSliceBy);
+        if (properties.getUsers() > 0) {
+            Pageable recentUsers = PageRequest.of(0, properties.getUsers(), Sort.by(Sort.Direction.DESC, "lastModifiedDate"));
+            for (User user : userRepository.findAllByIdNotNullAndActivatedIsTrue(recentUsers)) {
+                // Through the repository proxy, to cache the user as the login does
+                queries.add(() -> userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).isPresent() ? 1 : 0);
+            }
+        }
+        int loaded = runAll(queries, deadline);
+        log.info("Cache warm-up loaded {} entities in {} ms", loaded, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return loaded;
+    }
+
+    /**
+     * Add the queries of the newest entities, the last page being loaded whole.
+     */
+    private void addPages(List<Callable<Integer>> queries, int count, Function<Pageable, Slice<?>> query) {
+        int pageSize = Math.max(1, Math.min(count, properties.getPageSize()));
+        for (int page = 0; page * pageSize < count; page++) {
+            Pageable pageable = PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+            queries.add(() -> query.apply(pageable).getNumberOfElements());
+        }
+    }
+
+    private int runAll(List<Callable<Integer>> queries, long deadline) throws TimeoutException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, properties.getConcurrency()),
+            new CustomizableThreadFactory("cache-warm-up-")
+        );
+        try {
+            int loaded = 0;
+            boolean timedOut = false;
+            // Queries not finished by the deadline are cancelled
+            for (Future<Integer> result : executor.invokeAll(queries, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                try {
+                    loaded += result.get();
+                } catch (CancellationException e) {
+                    timedOut = true;
+                } catch (ExecutionException e) {
+                    log.warn("Cache warm-up query failed: {}", e.getCause().toString());
+                }
+            }
+            if (timedOut) {
+                throw new TimeoutException("Cache warm-up timed out after loading " + loaded + " entities");
+            }
+            return loaded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
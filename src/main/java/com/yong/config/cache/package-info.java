@@ -0,0 +1,4 @@
+/**
+ * Cache statistics.
+ */
+package com.yong.config.cache;
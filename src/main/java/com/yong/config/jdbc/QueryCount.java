@@ -0,0 +1,103 @@
+package com.yong.config.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements, rows and JDBC time of the current unit of work, typically an HTTP request.
+ * <p>
+ * A count is bound to the thread by {@link #start()}, and filled in until {@link #stop()}: statements run by other
+ * threads, or outside of a unit of work, are not counted. The count is filled in either by the
+ * {@link QueryCountingDataSource}, or by the {@link QueryCountStatementInspector} and {@link QueryCountSessionListener}
+ * of Hibernate, which neither count the rows nor the statements run outside of Hibernate.
+ */
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long rows;
+
+    private long jdbcNanos;
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    /**
+     * The SQL of the statement last prepared by Hibernate.
+     */
+    private String preparedSql;
+
+    private QueryCount() {}
+
+    /**
+     * Start counting the statements of the current thread.
+     *
+     * @return the count.
+     */
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * Stop counting the statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the count of the current thread, or {@code null} if its statements are not counted.
+     */
+    static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        preparedSql = sql;
+    }
+
+    void statementExecuted(long nanos) {
+        statementExecuted(preparedSql, nanos);
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * Get the statement executed the most times, the symptom of an N+1 select.
+     *
+     * @return the SQL of the statement and its number of executions, or {@code null} if no statement was executed.
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{statements=" + statements + ", rows=" + rows + ", jdbcMillis=" + jdbcNanos / 1_000_000 + "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.yong.config.jdbc;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener counting the statements executed, and the time spent executing them, into the
+ * {@link QueryCount} of the current thread. A batch counts as one statement.
+ * <p>
+ * Instantiated by Hibernate for each session.
+ */
+public class QueryCountSessionListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.statementExecuted(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.yong.config.jdbc;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector keeping the SQL of the statements prepared for the {@link QueryCount} of the current
+ * thread, left unchanged, so that the {@link QueryCountSessionListener} counts their executions by SQL.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
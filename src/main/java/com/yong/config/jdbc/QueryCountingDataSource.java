@@ -0,0 +1,135 @@
+package com.yong.config.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source counting the statements executed, the rows read and the time spent in JDBC into the {@link QueryCount}
+ * of the current thread.
+ * <p>
+ * Connections, statements and result sets are wrapped in JDK proxies. The count is looked up when a statement is
+ * executed rather than when the connection is acquired, so connections acquired before the unit of work started, such
+ * as the one of a test transaction, are counted too. Meant for development and tests, see
+ * {@code application.query-count.jdbc-proxy}.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) wrap(Connection.class, super.getConnection(), null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) wrap(Connection.class, super.getConnection(username, password), null, null);
+    }
+
+    private static Object wrap(Class<?> type, Object target, String sql, Object parent) {
+        if (target == null) {
+            return null;
+        }
+        return Proxy.newProxyInstance(
+            QueryCountingDataSource.class.getClassLoader(),
+            new Class<?>[] { type },
+            new Handler(target, sql, parent)
+        );
+    }
+
+    private static final class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        /**
+         * The SQL of a prepared statement.
+         */
+        private final String sql;
+
+        /**
+         * The proxy of the connection of a statement, or of the statement of a result set.
+         */
+        private final Object parent;
+
+        Handler(Object target, String sql, Object parent) {
+            this.target = target;
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name) && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name) && args == null) {
+                return System.identityHashCode(proxy);
+            }
+            boolean parentGetter =
+                (target instanceof Statement && "getConnection".equals(name)) ||
+                (target instanceof ResultSet && "getStatement".equals(name));
+            if (parentGetter && parent != null) {
+                // The proxies rather than their targets, whose statements would not be counted
+                return parent;
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            Object result = invokeTarget(method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement(sql, ...) and prepareCall(sql, ...) give the SQL up front
+                String preparedSql = name.startsWith("prepare") && args != null && args[0] instanceof String ? (String) args[0] : null;
+                return wrap(method.getReturnType(), result, preparedSql, proxy);
+            }
+            if (target instanceof ResultSet && "next".equals(name) && Boolean.TRUE.equals(result)) {
+                QueryCount count = QueryCount.current();
+                if (count != null) {
+                    count.rowRead();
+                }
+            }
+            // getResultSet() and getGeneratedKeys()
+            return wrapResultSet(proxy, method, result);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            QueryCount count = QueryCount.current();
+            if (count == null) {
+                return wrapResultSet(proxy, method, invokeTarget(method, args));
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(proxy, method, invokeTarget(method, args));
+            } finally {
+                String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                count.statementExecuted(executedSql, System.nanoTime() - start);
+            }
+        }
+
+        private Object wrapResultSet(Object proxy, Method method, Object result) {
+            if (result instanceof ResultSet && method.getReturnType() == ResultSet.class) {
+                // The statement of the result sets of a connection, such as the metadata ones, is not a proxy
+                return wrap(ResultSet.class, result, null, target instanceof Statement ? proxy : null);
+            }
+            return result;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JDBC instrumentation.
+ */
+package com.yong.config.jdbc;
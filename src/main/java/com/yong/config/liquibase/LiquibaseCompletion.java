@@ -0,0 +1,47 @@
+package com.yong.config.liquibase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Completion of the Liquibase run, which is asynchronous with the {@code dev} profile.
+ * <p>
+ * The executor given to Liquibase is wrapped by {@link #track(Executor)}: when Liquibase runs in the background, it
+ * submits its run to it, else it has already run once its bean is initialized.
+ */
+public class LiquibaseCompletion {
+
+    private final CompletableFuture<Void> asyncRun = new CompletableFuture<>();
+
+    private volatile boolean async;
+
+    /**
+     * Wrap the executor given to Liquibase, to know when its asynchronous run ends.
+     *
+     * @param executor the executor running Liquibase in the background.
+     * @return the wrapped executor.
+     */
+    public Executor track(Executor executor) {
+        return task -> {
+            async = true;
+            executor.execute(
+                () -> {
+                    try {
+                        task.run();
+                    } finally {
+                        asyncRun.complete(null);
+                    }
+                }
+            );
+        };
+    }
+
+    /**
+     * Get the completion of the Liquibase run, which must be called once the Liquibase bean is initialized.
+     *
+     * @return a future completed when Liquibase has run, whether it succeeded or not.
+     */
+    public CompletableFuture<Void> whenDone() {
+        return async ? asyncRun : CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,128 @@
+package com.yong.config.liquibase;
+
+import com.yong.service.ImageService;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change moving the {@code image} and {@code image_content_type} columns of an entity table
+ * into the {@code image} and {@code image_content} tables.
+ * <p>
+ * The SHA-256 of each image is computed here, as there is no portable way to do it in SQL. Rows are
+ * read one at a time so that the migration never holds more than one blob in memory.
+ */
+public class MoveEntityImagesChange implements CustomTaskChange {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private String tableName;
+
+    private int movedImages;
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (
+            PreparedStatement selectImage = connection.prepareStatement(
+                "select image, image_content_type from " + tableName + " where id = ?"
+            );
+            PreparedStatement findImage = connection.prepareStatement("select id from image where sha256 = ? and content_type = ?");
+            PreparedStatement insertImage = connection.prepareStatement(
+                "insert into image (content_type, content_size, sha256) values (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS
+            );
+            PreparedStatement insertContent = connection.prepareStatement("insert into image_content (image_id, content) values (?, ?)");
+            PreparedStatement updateRow = connection.prepareStatement("update " + tableName + " set image_id = ? where id = ?")
+        ) {
+            for (Long id : findIdsWithImage(connection)) {
+                selectImage.setLong(1, id);
+                try (ResultSet row = selectImage.executeQuery()) {
+                    if (!row.next()) {
+                        continue;
+                    }
+                    byte[] content = row.getBytes(1);
+                    String contentType = row.getString(2) != null ? row.getString(2) : DEFAULT_CONTENT_TYPE;
+                    String sha256 = ImageService.sha256(content);
+
+                    Long imageId = null;
+                    findImage.setString(1, sha256);
+                    findImage.setString(2, contentType);
+                    try (ResultSet existing = findImage.executeQuery()) {
+                        if (existing.next()) {
+                            imageId = existing.getLong(1);
+                        }
+                    }
+                    if (imageId == null) {
+                        insertImage.setString(1, contentType);
+                        insertImage.setLong(2, content.length);
+                        insertImage.setString(3, sha256);
+                        insertImage.executeUpdate();
+                        try (ResultSet keys = insertImage.getGeneratedKeys()) {
+                            keys.next();
+                            imageId = keys.getLong(1);
+                        }
+                        insertContent.setLong(1, imageId);
+                        insertContent.setBytes(2, content);
+                        insertContent.executeUpdate();
+                        movedImages++;
+                    }
+                    updateRow.setLong(1, imageId);
+                    updateRow.setLong(2, id);
+                    updateRow.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not move the images of table " + tableName, e);
+        }
+    }
+
+    private List<Long> findIdsWithImage(Connection connection) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (
+            Statement statement = connection.createStatement();
+            ResultSet rows = statement.executeQuery("select id from " + tableName + " where image is not null")
+        ) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Moved " + movedImages + " images out of table " + tableName;
+    }
+
+    @Override
+    public void setUp() {
+        // Nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // No resources needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        return errors;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Custom Liquibase changes, and tracking of the Liquibase run.
+ */
+package com.yong.config.liquibase;
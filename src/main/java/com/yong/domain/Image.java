@@ -0,0 +1,118 @@
+package com.yong.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * The metadata of an image attached to a {@link Movie} or a {@link News}.
+ * <p>
+ * The bytes themselves live in {@link ImageContent}, so that loading an entity and its image
+ * metadata never reads the blob column.
+ */
+@Entity
+@Table(name = "image")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class Image implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @NotNull
+    @Column(name = "content_size", nullable = false)
+    private Long size;
+
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "sha256", length = 64, nullable = false)
+    private String sha256;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Image id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public Image contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSize() {
+        return this.size;
+    }
+
+    public Image size(Long size) {
+        this.size = size;
+        return this;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return this.sha256;
+    }
+
+    public Image sha256(String sha256) {
+        this.sha256 = sha256;
+        return this;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Image)) {
+            return false;
+        }
+        return id != null && id.equals(((Image) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Image{" +
+            "id=" + getId() +
+            ", contentType='" + getContentType() + "'" +
+            ", size=" + getSize() +
+            ", sha256='" + getSha256() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,88 @@
+package com.yong.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * The bytes of an {@link Image}, stored in their own table and sharing the image primary key.
+ * <p>
+ * This entity is deliberately not cached: blobs must not end up in the second level cache.
+ */
+@Entity
+@Table(name = "image_content")
+public class ImageContent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    private Image image;
+
+    @NotNull
+    @Lob
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Image getImage() {
+        return this.image;
+    }
+
+    public ImageContent image(Image image) {
+        this.setImage(image);
+        return this;
+    }
+
+    public void setImage(Image image) {
+        this.image = image;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    public ImageContent content(byte[] content) {
+        this.content = content;
+        return this;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImageContent)) {
+            return false;
+        }
+        return id != null && id.equals(((ImageContent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImageContent{" +
+            "id=" + getId() +
+            "}";
+    }
+}
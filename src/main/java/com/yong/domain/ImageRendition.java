@@ -0,0 +1,118 @@
+package com.yong.domain;
+
+import com.yong.domain.enumeration.ImageSize;
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * A downscaled rendition of an {@link Image}.
+ * <p>
+ * Renditions are keyed by the SHA-256 of the source content, so they are generated once for every distinct
+ * upload, whatever the number of entities sharing it.
+ */
+@Entity
+@Table(name = "image_rendition")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class ImageRendition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "source_sha256", length = 64, nullable = false)
+    private String sourceSha256;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rendition_size", nullable = false)
+    private ImageSize size;
+
+    @NotNull
+    @ManyToOne(optional = false)
+    private Image image;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ImageRendition id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getSourceSha256() {
+        return this.sourceSha256;
+    }
+
+    public ImageRendition sourceSha256(String sourceSha256) {
+        this.sourceSha256 = sourceSha256;
+        return this;
+    }
+
+    public void setSourceSha256(String sourceSha256) {
+        this.sourceSha256 = sourceSha256;
+    }
+
+    public ImageSize getSize() {
+        return this.size;
+    }
+
+    public ImageRendition size(ImageSize size) {
+        this.size = size;
+        return this;
+    }
+
+    public void setSize(ImageSize size) {
+        this.size = size;
+    }
+
+    public Image getImage() {
+        return this.image;
+    }
+
+    public ImageRendition image(Image image) {
+        this.setImage(image);
+        return this;
+    }
+
+    public void setImage(Image image) {
+        this.image = image;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImageRendition)) {
+            return false;
+        }
+        return id != null && id.equals(((ImageRendition) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImageRendition{" +
+            "id=" + getId() +
+            ", sourceSha256='" + getSourceSha256() + "'" +
+            ", size='" + getSize() + "'" +
+            "}";
+    }
+}
@@ -21,7 +21,15 @@ public class Movie implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "movieIdGenerator")
+    @TableGenerator(
+        name = "movieIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "movie",
+        allocationSize = 50
+    )
     private Long id;
 
     @NotNull
@@ -40,19 +48,15 @@ public class Movie implements Serializable {
     @Column(name = "start_date")
     private Instant startDate;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image;
-
-    @Column(name = "image_content_type")
-    private String imageContentType;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Image image;
 
     @OneToMany(mappedBy = "movie")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "movie" }, allowSetters = true)
     private Set<Twitter> twitters = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -134,32 +138,19 @@ public class Movie implements Serializable {
         this.startDate = startDate;
     }
 
-    public byte[] getImage() {
+    public Image getImage() {
         return this.image;
     }
 
-    public Movie image(byte[] image) {
-        this.image = image;
+    public Movie image(Image image) {
+        this.setImage(image);
         return this;
     }
 
-    public void setImage(byte[] image) {
+    public void setImage(Image image) {
         this.image = image;
     }
 
-    public String getImageContentType() {
-        return this.imageContentType;
-    }
-
-    public Movie imageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
-        return this;
-    }
-
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
-    }
-
     public Set<Twitter> getTwitters() {
         return this.twitters;
     }
@@ -233,8 +224,6 @@ public class Movie implements Serializable {
             ", synopsis='" + getSynopsis() + "'" +
             ", comment='" + getComment() + "'" +
             ", startDate='" + getStartDate() + "'" +
-            ", image='" + getImage() + "'" +
-            ", imageContentType='" + getImageContentType() + "'" +
             "}";
     }
 }
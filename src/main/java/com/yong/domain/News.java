@@ -18,7 +18,15 @@ public class News implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "newsIdGenerator")
+    @TableGenerator(
+        name = "newsIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "news",
+        allocationSize = 50
+    )
     private Long id;
 
     @NotNull
@@ -32,14 +40,10 @@ public class News implements Serializable {
     @Column(name = "pub_date")
     private Instant pubDate;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Image image;
 
-    @Column(name = "image_content_type")
-    private String imageContentType;
-
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -95,32 +99,19 @@ public class News implements Serializable {
         this.pubDate = pubDate;
     }
 
-    public byte[] getImage() {
+    public Image getImage() {
         return this.image;
     }
 
-    public News image(byte[] image) {
-        this.image = image;
+    public News image(Image image) {
+        this.setImage(image);
         return this;
     }
 
-    public void setImage(byte[] image) {
+    public void setImage(Image image) {
         this.image = image;
     }
 
-    public String getImageContentType() {
-        return this.imageContentType;
-    }
-
-    public News imageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
-        return this;
-    }
-
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
-    }
-
     public User getUser() {
         return this.user;
     }
@@ -161,8 +152,6 @@ public class News implements Serializable {
             ", headerline='" + getHeaderline() + "'" +
             ", url='" + getUrl() + "'" +
             ", pubDate='" + getPubDate() + "'" +
-            ", image='" + getImage() + "'" +
-            ", imageContentType='" + getImageContentType() + "'" +
             "}";
     }
 }
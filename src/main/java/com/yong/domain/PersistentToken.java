@@ -9,6 +9,7 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Persistent tokens are used by Spring Security to automatically log in users.
@@ -18,6 +19,8 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "jhi_persistent_token")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Updates only write the changed columns, so that writing the metadata of a token never reverts its value
+@DynamicUpdate
 public class PersistentToken implements Serializable {
 
     private static final long serialVersionUID = 1L;
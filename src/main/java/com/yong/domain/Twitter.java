@@ -19,7 +19,15 @@ public class Twitter implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "twitterIdGenerator")
+    @TableGenerator(
+        name = "twitterIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "twitter",
+        allocationSize = 50
+    )
     private Long id;
 
     @NotNull
@@ -32,7 +40,7 @@ public class Twitter implements Serializable {
     @Column(name = "publisher")
     private String publisher;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "twitters", "user" }, allowSetters = true)
     private Movie movie;
 
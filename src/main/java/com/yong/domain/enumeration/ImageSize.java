@@ -0,0 +1,23 @@
+package com.yong.domain.enumeration;
+
+/**
+ * The ImageSize enumeration, listing the renditions generated for every uploaded image.
+ */
+public enum ImageSize {
+    LIST(100),
+    CARD(400),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * @return the maximum width and height of the rendition, in pixels.
+     */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
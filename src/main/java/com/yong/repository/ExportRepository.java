@@ -0,0 +1,51 @@
+package com.yong.repository;
+
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository streaming the rows of the exports.
+ * <p>
+ * MySQL Connector/J reads whole result sets in memory unless the fetch size is {@link Integer#MIN_VALUE}, which
+ * streams the rows one at a time: this is set on the export queries only, rather than server-side cursors being
+ * turned on for the whole connection. Other databases fetch the rows {@value #FETCH_SIZE} at a time.
+ */
+@Repository
+public class ExportRepository {
+
+    /**
+     * Number of rows fetched per round trip, on databases other than MySQL.
+     */
+    static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public ExportRepository(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        boolean mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof MySQLDialect;
+        this.fetchSize = mysql ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+    /**
+     * Stream the results of a read-only query. The stream must be consumed and closed in a transaction.
+     *
+     * @param query the JPQL query.
+     * @param resultClass the type of the results.
+     * @param <T> the type of the results.
+     * @return the stream of the results.
+     */
+    public <T> Stream<T> stream(String query, Class<T> resultClass) {
+        return entityManager
+            .createQuery(query, resultClass)
+            .setHint(QueryHints.HINT_READONLY, true)
+            .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+            .getResultStream();
+    }
+}
@@ -0,0 +1,16 @@
+package com.yong.repository;
+
+import com.yong.domain.ImageContent;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the ImageContent entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ImageContentRepository extends JpaRepository<ImageContent, Long> {
+    @Query("select imageContent.id from ImageContent imageContent order by imageContent.id")
+    List<Long> findAllIds();
+}
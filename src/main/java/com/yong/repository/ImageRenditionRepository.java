@@ -0,0 +1,24 @@
+package com.yong.repository;
+
+import com.yong.domain.ImageRendition;
+import com.yong.domain.enumeration.ImageSize;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the ImageRendition entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+    Optional<ImageRendition> findOneBySourceSha256AndSize(String sourceSha256, ImageSize size);
+
+    @Modifying
+    @Query(
+        "delete from ImageRendition rendition " +
+        "where not exists (select movie.id from Movie movie where movie.image.sha256 = rendition.sourceSha256) " +
+        "and not exists (select news.id from News news where news.image.sha256 = rendition.sourceSha256)"
+    )
+    int deleteAllOrphans();
+}
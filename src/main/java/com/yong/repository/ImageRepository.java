@@ -0,0 +1,26 @@
+package com.yong.repository;
+
+import com.yong.domain.Image;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the Image entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ImageRepository extends JpaRepository<Image, Long> {
+    Optional<Image> findFirstBySha256AndContentType(String sha256, String contentType);
+
+    boolean existsBySha256AndIdNot(String sha256, Long id);
+
+    @Query(
+        "select image from Image image " +
+        "where not exists (select movie.id from Movie movie where movie.image = image) " +
+        "and not exists (select news.id from News news where news.image = image) " +
+        "and not exists (select rendition.id from ImageRendition rendition where rendition.image = image)"
+    )
+    List<Image> findAllOrphans();
+}
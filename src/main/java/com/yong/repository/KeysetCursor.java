@@ -0,0 +1,135 @@
+package com.yong.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in a list sorted on one property, with the entity id as tie-breaker.
+ * <p>
+ * A cursor without id designates the start of the list. Cursors are exchanged with clients as opaque,
+ * URL-safe tokens.
+ */
+public final class KeysetCursor {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final String SEPARATOR = "\n";
+
+    private static final String VALUE_PREFIX = "=";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final String value;
+
+    private final Long id;
+
+    private KeysetCursor(String property, Sort.Direction direction, String value, Long id) {
+        this.property = Objects.requireNonNull(property);
+        this.direction = Objects.requireNonNull(direction);
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Cursor designating the start of a list.
+     *
+     * @param order the sort order of the list.
+     * @return the cursor.
+     */
+    public static KeysetCursor first(Sort.Order order) {
+        return new KeysetCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Cursor designating the elements after a given one.
+     *
+     * @param property the sort property.
+     * @param direction the sort direction.
+     * @param value the sort property value of the element, may be {@code null}.
+     * @param id the id of the element.
+     * @return the cursor.
+     */
+    public static KeysetCursor after(String property, Sort.Direction direction, Object value, Long id) {
+        return new KeysetCursor(property, direction, value == null ? null : value.toString(), Objects.requireNonNull(id));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the token.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not valid.
+     */
+    public static KeysetCursor decode(String token) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        if (parts.length != 4 || parts[0].isEmpty() || !(parts[3].isEmpty() || parts[3].startsWith(VALUE_PREFIX))) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String value = parts[3].isEmpty() ? null : parts[3].substring(VALUE_PREFIX.length());
+        return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), value, Long.valueOf(parts[2]));
+    }
+
+    /**
+     * @return the opaque token of this cursor.
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, property, direction.name(), String.valueOf(id), value == null ? "" : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the sort property value of the last element, as a string, or {@code null}.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the id of the last element, or {@code null} at the start of the list.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetCursor)) {
+            return false;
+        }
+        KeysetCursor other = (KeysetCursor) o;
+        return (
+            property.equals(other.property) && direction == other.direction && Objects.equals(value, other.value) && Objects.equals(id, other.id)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction, value, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", value='" + value + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,221 @@
+package com.yong.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.SingularAttribute;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository running keyset (seek) pagination queries.
+ * <p>
+ * Instead of skipping {@code offset} rows, each page starts right after the {@link KeysetCursor} of the previous
+ * one: {@code where (key, id) > (:key, :id) order by key, id limit :size}. Backed by a {@code (key, id)} index, every
+ * page costs the same, however deep. {@code NULL} keys sort first in ascending order and last in descending order,
+ * as in MySQL and H2.
+ * <p>
+ * The elements are either entities, with their associations fetched, or read-only projections built from a list of
+ * attribute paths, which neither load nor cache any entity.
+ */
+@Repository
+public class KeysetRepository {
+
+    private final EntityManager entityManager;
+
+    public KeysetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get the elements after a cursor.
+     *
+     * @param domainClass the entity class.
+     * @param cursor the position to start after.
+     * @param size the maximum number of elements.
+     * @param fetches the associations to fetch with the elements.
+     * @param <T> the entity type.
+     * @return the slice of elements, telling whether more elements follow.
+     * @throws IllegalArgumentException if the cursor property or value does not match the entity.
+     */
+    public <T> Slice<T> findAll(Class<T> domainClass, KeysetCursor cursor, int size, String... fetches) {
+        return findAll(domainClass, null, cursor, size, fetches);
+    }
+
+    /**
+     * Get the elements matching a specification after a cursor.
+     *
+     * @param domainClass the entity class.
+     * @param spec the restriction on the elements, may be {@code null}.
+     * @param cursor the position to start after.
+     * @param size the maximum number of elements.
+     * @param fetches the associations to fetch with the elements.
+     * @param <T> the entity type.
+     * @return the slice of elements, telling whether more elements follow.
+     * @throws IllegalArgumentException if the cursor property or value does not match the entity.
+     */
+    public <T> Slice<T> findAll(Class<T> domainClass, Specification<T> spec, KeysetCursor cursor, int size, String... fetches) {
+        CriteriaQuery<T> query = entityManager.getCriteriaBuilder().createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        for (String fetch : fetches) {
+            root.fetch(fetch, JoinType.LEFT);
+        }
+        return findAll(query, root, spec, cursor, size);
+    }
+
+    /**
+     * Get the projections of the elements matching a specification after a cursor.
+     * <p>
+     * The projections are built by the constructor of {@code projectionClass} taking the values of {@code paths}, in
+     * order. A path is an attribute of the entity or of one of its associations, such as {@code image.contentType}:
+     * the associations are left joined, except for their id, read from the foreign key.
+     *
+     * @param domainClass the entity class.
+     * @param projectionClass the projection class.
+     * @param paths the paths of the values passed to the projection constructor.
+     * @param spec the restriction on the elements, may be {@code null}.
+     * @param cursor the position to start after.
+     * @param size the maximum number of elements.
+     * @param <T> the entity type.
+     * @param <P> the projection type.
+     * @return the slice of projections, telling whether more elements follow.
+     * @throws IllegalArgumentException if the cursor property or value, or a path, does not match the entity.
+     */
+    public <T, P> Slice<P> findAll(
+        Class<T> domainClass,
+        Class<P> projectionClass,
+        List<String> paths,
+        Specification<T> spec,
+        KeysetCursor cursor,
+        int size
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<P> query = cb.createQuery(projectionClass);
+        Root<T> root = query.from(domainClass);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            selections.add(get(root, joins, path));
+        }
+        query.select(cb.construct(projectionClass, selections.toArray(new Selection<?>[0])));
+        return findAll(query, root, spec, cursor, size);
+    }
+
+    private <T, R> Slice<R> findAll(CriteriaQuery<R> query, Root<T> root, Specification<T> spec, KeysetCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Predicate> restrictions = new ArrayList<>();
+        if (spec != null) {
+            restrictions.add(spec.toPredicate(root, query, cb));
+        }
+        boolean ascending = cursor.getDirection().isAscending();
+        Path<Long> id = root.get(KeysetCursor.ID_PROPERTY);
+        if (KeysetCursor.ID_PROPERTY.equals(cursor.getProperty())) {
+            if (cursor.getId() != null) {
+                restrictions.add(ascending ? cb.gt(id, cursor.getId()) : cb.lt(id, cursor.getId()));
+            }
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<Comparable<Object>> key = root.get(cursor.getProperty());
+            boolean optional = ((SingularAttribute<?, ?>) root.getModel().getAttribute(cursor.getProperty())).isOptional();
+            if (cursor.getId() != null) {
+                Comparable<Object> value = convert(cursor.getValue(), key.getJavaType());
+                restrictions.add(after(cb, key, optional, value, id, cursor.getId(), ascending));
+            }
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+        query.where(restrictions.toArray(new Predicate[0]));
+        List<R> content = entityManager
+            .createQuery(query)
+            .setHint(QueryHints.HINT_READONLY, true)
+            .setMaxResults(size + 1)
+            .getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(
+            hasNext ? content.subList(0, size) : content,
+            PageRequest.of(0, size, Sort.by(cursor.getDirection(), cursor.getProperty())),
+            hasNext
+        );
+    }
+
+    private static Path<?> get(Root<?> root, Map<String, From<?, ?>> joins, String path) {
+        String[] attributes = path.split("\\.");
+        if (attributes.length == 2 && KeysetCursor.ID_PROPERTY.equals(attributes[1])) {
+            // The foreign key, without joining the association
+            return root.get(attributes[0]).get(KeysetCursor.ID_PROPERTY);
+        }
+        From<?, ?> from = root;
+        String joined = "";
+        for (int i = 0; i < attributes.length - 1; i++) {
+            joined = joined.isEmpty() ? attributes[i] : joined + "." + attributes[i];
+            From<?, ?> parent = from;
+            String attribute = attributes[i];
+            from = joins.computeIfAbsent(joined, key -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(attributes[attributes.length - 1]);
+    }
+
+    private static Predicate after(
+        CriteriaBuilder cb,
+        Path<Comparable<Object>> key,
+        boolean optional,
+        Comparable<Object> value,
+        Path<Long> id,
+        Long lastId,
+        boolean ascending
+    ) {
+        if (value == null) {
+            if (ascending) {
+                return cb.or(cb.and(cb.isNull(key), cb.gt(id, lastId)), cb.isNotNull(key));
+            }
+            return cb.and(cb.isNull(key), cb.lt(id, lastId));
+        }
+        if (ascending) {
+            return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.gt(id, lastId)));
+        }
+        Predicate before = cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lt(id, lastId)));
+        return optional ? cb.or(before, cb.isNull(key)) : before;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> convert(String value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (String.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) value;
+            } else if (Long.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) Long.valueOf(value);
+            } else if (Integer.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) Integer.valueOf(value);
+            } else if (Instant.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) Instant.parse(value);
+            } else if (LocalDate.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) LocalDate.parse(value);
+            } else if (ZonedDateTime.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) ZonedDateTime.parse(value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
+        }
+        throw new IllegalArgumentException("Unsupported cursor type: " + type.getName());
+    }
+}
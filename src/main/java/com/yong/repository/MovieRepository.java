@@ -1,8 +1,19 @@
 package com.yong.repository;
 
+import com.yong.domain.Image;
 import com.yong.domain.Movie;
+import com.yong.service.dto.MovieDTO;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,6 +22,72 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
-    @Query("select movie from Movie movie where movie.user.login = ?#{principal.username}")
-    List<Movie> findByUserIsCurrentUser();
+    String MOVIES_BY_USER_CACHE = "moviesByUser";
+
+    /**
+     * Read-only projection of the list endpoints, selecting the DTO columns without loading the entities.
+     */
+    String LIST_PROJECTION =
+        "select new com.yong.service.dto.MovieDTO(movie.id, movie.name, movie.director, movie.synopsis, movie.comment, movie.startDate, " +
+        "image.id, image.contentType, image.size, image.sha256, user.id, user.login) " +
+        "from Movie movie left join movie.image image left join movie.user user";
+
+    /**
+     * Query of the export, all the movies in id order, see {@link ExportRepository}.
+     */
+    String EXPORT_QUERY = LIST_PROJECTION + " order by movie.id";
+
+    /**
+     * Paths of the values of {@link #LIST_PROJECTION}, in order, for the keyset queries of {@link KeysetRepository}.
+     */
+    List<String> LIST_PATHS = List.of(
+        "id",
+        "name",
+        "director",
+        "synopsis",
+        "comment",
+        "startDate",
+        "image.id",
+        "image.contentType",
+        "image.size",
+        "image.sha256",
+        "user.id",
+        "user.login"
+    );
+
+    @Query(value = LIST_PROJECTION, countQuery = "select count(movie) from Movie movie")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<MovieDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query(LIST_PROJECTION)
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Slice<MovieDTO> findSliceProjectedBy(Pageable pageable);
+
+    @Query(LIST_PROJECTION + " where user.login = ?#{principal.username}")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    List<MovieDTO> findByUserIsCurrentUser();
+
+    @Query(value = LIST_PROJECTION + " where user.id = :userId", countQuery = "select count(movie) from Movie movie where movie.user.id = :userId")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<MovieDTO> findAllProjectedByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select movie.id from Movie movie where movie.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select movie.user.id from Movie movie where movie.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(attributePaths = { "image", "user" })
+    Page<Movie> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "image", "user" })
+    Slice<Movie> findSliceBy(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "image", "user" })
+    Optional<Movie> findById(Long id);
+
+    @Query("select movie.image from Movie movie where movie.id = :id")
+    Optional<Image> findImageById(@Param("id") Long id);
 }
@@ -1,8 +1,17 @@
 package com.yong.repository;
 
+import com.yong.domain.Image;
 import com.yong.domain.News;
+import com.yong.service.dto.NewsDTO;
 import java.util.List;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,6 +20,67 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
-    @Query("select news from News news where news.user.login = ?#{principal.username}")
-    List<News> findByUserIsCurrentUser();
+    String NEWS_BY_USER_CACHE = "newsByUser";
+
+    /**
+     * Read-only projection of the list endpoints, selecting the DTO columns without loading the entities.
+     */
+    String LIST_PROJECTION =
+        "select new com.yong.service.dto.NewsDTO(news.id, news.headerline, news.url, news.pubDate, " +
+        "image.id, image.contentType, image.size, image.sha256, user.id, user.login) " +
+        "from News news left join news.image image left join news.user user";
+
+    /**
+     * Query of the export, all the news in id order, see {@link ExportRepository}.
+     */
+    String EXPORT_QUERY = LIST_PROJECTION + " order by news.id";
+
+    /**
+     * Paths of the values of {@link #LIST_PROJECTION}, in order, for the keyset queries of {@link KeysetRepository}.
+     */
+    List<String> LIST_PATHS = List.of(
+        "id",
+        "headerline",
+        "url",
+        "pubDate",
+        "image.id",
+        "image.contentType",
+        "image.size",
+        "image.sha256",
+        "user.id",
+        "user.login"
+    );
+
+    @Query(value = LIST_PROJECTION, countQuery = "select count(news) from News news")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<NewsDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query(LIST_PROJECTION)
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Slice<NewsDTO> findSliceProjectedBy(Pageable pageable);
+
+    @Query(LIST_PROJECTION + " where user.login = ?#{principal.username}")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    List<NewsDTO> findByUserIsCurrentUser();
+
+    @Query(value = LIST_PROJECTION + " where user.id = :userId", countQuery = "select count(news) from News news where news.user.id = :userId")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<NewsDTO> findAllProjectedByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select news.user.id from News news where news.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(attributePaths = { "image", "user" })
+    Page<News> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "image", "user" })
+    Slice<News> findSliceBy(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "image", "user" })
+    Optional<News> findById(Long id);
+
+    @Query("select news.image from News news where news.id = :id")
+    Optional<Image> findImageById(@Param("id") Long id);
 }
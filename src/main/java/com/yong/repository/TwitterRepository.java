@@ -1,6 +1,13 @@
 package com.yong.repository;
 
 import com.yong.domain.Twitter;
+import com.yong.service.dto.TwitterDTO;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +16,29 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TwitterRepository extends JpaRepository<Twitter, Long> {}
+public interface TwitterRepository extends JpaRepository<Twitter, Long> {
+    /**
+     * Read-only projection of the list endpoints, selecting the DTO columns without loading the entities.
+     */
+    String LIST_PROJECTION =
+        "select new com.yong.service.dto.TwitterDTO(twitter.id, twitter.content, twitter.pubDate, twitter.publisher, twitter.movie.id) " +
+        "from Twitter twitter";
+
+    /**
+     * Query of the export, all the twitters in id order, see {@link ExportRepository}.
+     */
+    String EXPORT_QUERY = LIST_PROJECTION + " order by twitter.id";
+
+    /**
+     * Paths of the values of {@link #LIST_PROJECTION}, in order, for the keyset queries of {@link KeysetRepository}.
+     */
+    List<String> LIST_PATHS = List.of("id", "content", "pubDate", "publisher", "movie.id");
+
+    @Query(value = LIST_PROJECTION, countQuery = "select count(twitter) from Twitter twitter")
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<TwitterDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query(LIST_PROJECTION)
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Slice<TwitterDTO> findSliceProjectedBy(Pageable pageable);
+}
@@ -0,0 +1,196 @@
+package com.yong.security;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.PersistentToken;
+import com.yong.repository.PersistentTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writer of the date, IP address and user agent of the refreshed remember-me tokens, in the background.
+ * <p>
+ * The updates are kept by series, a later update of a series replacing the pending one, and written every
+ * {@code application.remember-me.flush-interval} by batches of {@code application.remember-me.flush-batch-size}, one
+ * transaction each. Tokens deleted in the meantime are skipped.
+ * <p>
+ * The metadata is written by a JDBC batch touching its columns only, the written tokens being then evicted from the
+ * second-level cache one by one: writing it through the loaded entities would cache them again with the value they had
+ * when loaded, reverting a token rotated meanwhile for the next logins, and a bulk update would evict all the tokens.
+ * <p>
+ * The new values of the tokens are written right away, alone, through the entity.
+ * <p>
+ * The number of pending updates and the duration of the writes are published as the
+ * {@code remember.me.token.updates.pending} and {@code remember.me.token.updates.flush} metrics.
+ */
+@Component
+public class PersistentTokenMetadataWriter {
+
+    private static final String UPDATE_METADATA =
+        "update jhi_persistent_token set token_date = ?, ip_address = ?, user_agent = ? where series = ?";
+
+    private static final int MAX_USER_AGENT_LEN = 255;
+
+    private final Logger log = LoggerFactory.getLogger(PersistentTokenMetadataWriter.class);
+
+    private final Map<String, Metadata> pending = new ConcurrentHashMap<>();
+
+    private final PersistentTokenRepository persistentTokenRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean writeBehind;
+
+    private final int batchSize;
+
+    private final Timer flushTimer;
+
+    public PersistentTokenMetadataWriter(
+        PersistentTokenRepository persistentTokenRepository,
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.persistentTokenRepository = persistentTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeBehind = applicationProperties.getRememberMe().isWriteBehind();
+        this.batchSize = applicationProperties.getRememberMe().getFlushBatchSize();
+        this.flushTimer =
+            Timer
+                .builder("remember.me.token.updates.flush")
+                .description("Writes of a batch of pending remember-me token updates")
+                .register(meterRegistry);
+        Gauge
+            .builder("remember.me.token.updates.pending", pending, Map::size)
+            .description("Remember-me token updates waiting to be written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if the metadata of the tokens is written in the background.
+     */
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Write the new value of a token, leaving its other columns as they are.
+     *
+     * @param series the series of the token.
+     * @param tokenValue the new value.
+     * @return {@code false} if the series does not exist any more.
+     */
+    public boolean writeValue(String series, String tokenValue) {
+        return Boolean.TRUE.equals(
+            transactionTemplate.execute(
+                status ->
+                    persistentTokenRepository
+                        .findById(series)
+                        .map(
+                            token -> {
+                                // Only the value is written, the entity being dynamically updated
+                                token.setTokenValue(tokenValue);
+                                return true;
+                            }
+                        )
+                        .orElse(false)
+            )
+        );
+    }
+
+    /**
+     * Queue the update of the date, IP address and user agent of a token, replacing the pending update of its series.
+     *
+     * @param series the series of the token.
+     * @param tokenDate the new date.
+     * @param ipAddress the new IP address.
+     * @param userAgent the new user agent.
+     */
+    public void update(String series, LocalDate tokenDate, String ipAddress, String userAgent) {
+        pending.put(series, new Metadata(tokenDate, ipAddress, userAgent));
+    }
+
+    /**
+     * Write the pending updates.
+     * <p>
+     * This is scheduled to get fired every {@code application.remember-me.flush-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.remember-me.flush-interval:PT5S}")
+    @PreDestroy
+    public void flush() {
+        List<String> series = new ArrayList<>(batchSize);
+        Iterator<String> iterator = pending.keySet().iterator();
+        while (iterator.hasNext()) {
+            series.add(iterator.next());
+            if (series.size() == batchSize || !iterator.hasNext()) {
+                flushTimer.record(() -> write(series));
+                series.clear();
+            }
+        }
+    }
+
+    private void write(List<String> series) {
+        List<String> written = new ArrayList<>(series.size());
+        List<Object[]> rows = new ArrayList<>(series.size());
+        for (String oneSeries : series) {
+            // Removed before the write: an update queued from now on is kept for the next flush
+            Metadata metadata = pending.remove(oneSeries);
+            if (metadata != null) {
+                written.add(oneSeries);
+                rows.add(new Object[] { metadata.tokenDate, metadata.ipAddress, metadata.userAgent, oneSeries });
+            }
+        }
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_METADATA, rows));
+        int deleted = 0;
+        for (int i = 0; i < written.size(); i++) {
+            if (counts != null && counts[i] == 0) {
+                deleted++;
+            } else {
+                // Loaded again, with its current value, by the next login of the series
+                entityManagerFactory.getCache().evict(PersistentToken.class, written.get(i));
+            }
+        }
+        log.debug("Wrote the metadata of {} remember-me tokens", written.size() - deleted);
+    }
+
+    private static final class Metadata {
+
+        private final Date tokenDate;
+
+        private final String ipAddress;
+
+        private final String userAgent;
+
+        Metadata(LocalDate tokenDate, String ipAddress, String userAgent) {
+            this.tokenDate = tokenDate == null ? null : Date.valueOf(tokenDate);
+            this.ipAddress = ipAddress;
+            // Truncated as PersistentToken#setUserAgent does
+            this.userAgent =
+                userAgent != null && userAgent.length() >= MAX_USER_AGENT_LEN ? userAgent.substring(0, MAX_USER_AGENT_LEN - 1) : userAgent;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.yong.security;
 import com.yong.domain.PersistentToken;
 import com.yong.repository.PersistentTokenRepository;
 import com.yong.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.*;
@@ -17,7 +18,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.rememberme.*;
 import org.springframework.stereotype.Service;
 import tech.jhipster.config.JHipsterProperties;
-import tech.jhipster.security.PersistentTokenCache;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -35,7 +35,8 @@ import tech.jhipster.security.RandomUtil;
  * <p>
  * Please note that it allows the use of the same token for 5 seconds, and this value stored in a specific
  * cache during that period. This is to allow concurrent requests from the same user: otherwise, two
- * requests being sent at the same time could invalidate each other's token.
+ * requests being sent at the same time could invalidate each other's token. The requests of a same series are
+ * serialized, by striped locks, while the logins of different users run in parallel.
  * <p>
  * This is inspired by:
  * <ul>
@@ -59,57 +60,106 @@ public class PersistentTokenRememberMeServices extends AbstractRememberMeService
 
     private static final long UPGRADED_TOKEN_VALIDITY_MILLIS = 5000l;
 
-    private final PersistentTokenCache<UpgradedRememberMeToken> upgradedTokenCache;
+    // Room for 2000 auto-logins per second during the validity of an upgraded token
+    private static final int UPGRADED_TOKEN_CACHE_MAX_SIZE = 10_000;
+
+    // A power of two, for the series to be spread by masking their hash code
+    private static final int SERIES_LOCK_STRIPES = 256;
+
+    private final Object[] seriesLocks = new Object[SERIES_LOCK_STRIPES];
+
+    private final UpgradedTokenCache<UpgradedRememberMeToken> upgradedTokenCache;
 
     private final PersistentTokenRepository persistentTokenRepository;
 
     private final UserRepository userRepository;
 
+    private final PersistentTokenMetadataWriter tokenMetadataWriter;
+
     public PersistentTokenRememberMeServices(
         JHipsterProperties jHipsterProperties,
         org.springframework.security.core.userdetails.UserDetailsService userDetailsService,
         PersistentTokenRepository persistentTokenRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        PersistentTokenMetadataWriter tokenMetadataWriter,
+        MeterRegistry meterRegistry
     ) {
         super(jHipsterProperties.getSecurity().getRememberMe().getKey(), userDetailsService);
         this.persistentTokenRepository = persistentTokenRepository;
         this.userRepository = userRepository;
-        upgradedTokenCache = new PersistentTokenCache<>(UPGRADED_TOKEN_VALIDITY_MILLIS);
+        this.tokenMetadataWriter = tokenMetadataWriter;
+        upgradedTokenCache = new UpgradedTokenCache<>(UPGRADED_TOKEN_VALIDITY_MILLIS, UPGRADED_TOKEN_CACHE_MAX_SIZE, meterRegistry);
+        for (int i = 0; i < SERIES_LOCK_STRIPES; i++) {
+            seriesLocks[i] = new Object();
+        }
     }
 
     @Override
     protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request, HttpServletResponse response) {
-        synchronized (this) { // prevent 2 authentication requests from the same user in parallel
-            String login = null;
+        String login = upgradeToken(cookieTokens, request, response);
+        return getUserDetailsService().loadUserByUsername(login);
+    }
+
+    /**
+     * Validate the token of the cookie and replace it, unless it was just replaced.
+     *
+     * @return the login of the user of the token.
+     */
+    private String upgradeToken(String[] cookieTokens, HttpServletRequest request, HttpServletResponse response) {
+        synchronized (seriesLock(cookieTokens[0])) { // prevent 2 authentication requests from the same user in parallel
             UpgradedRememberMeToken upgradedToken = upgradedTokenCache.get(cookieTokens[0]);
             if (upgradedToken != null) {
-                login = upgradedToken.getUserLoginIfValid(cookieTokens);
+                String login = upgradedToken.getUserLoginIfValid(cookieTokens);
                 log.debug("Detected previously upgraded login token for user '{}'", login);
+                if (login != null) {
+                    return login;
+                }
             }
 
-            if (login == null) {
-                PersistentToken token = getPersistentToken(cookieTokens);
-                login = token.getUser().getLogin();
-
-                // Token also matches, so login is valid. Update the token value, keeping the *same* series number.
-                log.debug("Refreshing persistent login token for user '{}', series '{}'", login, token.getSeries());
-                token.setTokenDate(LocalDate.now());
-                token.setTokenValue(RandomUtil.generateRandomAlphanumericString());
-                token.setIpAddress(request.getRemoteAddr());
-                token.setUserAgent(request.getHeader("User-Agent"));
-                try {
+            PersistentToken token = getPersistentToken(cookieTokens);
+            String login = token.getUser().getLogin();
+
+            // Token also matches, so login is valid. Update the token value, keeping the *same* series number.
+            log.debug("Refreshing persistent login token for user '{}', series '{}'", login, token.getSeries());
+            String tokenValue = RandomUtil.generateRandomAlphanumericString();
+            try {
+                if (tokenMetadataWriter.isWriteBehind()) {
+                    // Only the new value is written before the cookie is sent, the date, IP and user agent later on
+                    if (!tokenMetadataWriter.writeValue(token.getSeries(), tokenValue)) {
+                        throw new RememberMeAuthenticationException("No persistent token found for series id: " + token.getSeries());
+                    }
+                    tokenMetadataWriter.update(
+                        token.getSeries(),
+                        LocalDate.now(),
+                        request.getRemoteAddr(),
+                        request.getHeader("User-Agent")
+                    );
+                    token.setTokenValue(tokenValue);
+                } else {
+                    token.setTokenDate(LocalDate.now());
+                    token.setTokenValue(tokenValue);
+                    token.setIpAddress(request.getRemoteAddr());
+                    token.setUserAgent(request.getHeader("User-Agent"));
                     persistentTokenRepository.saveAndFlush(token);
-                } catch (DataAccessException e) {
-                    log.error("Failed to update token: ", e);
-                    throw new RememberMeAuthenticationException("Autologin failed due to data access problem", e);
                 }
-                addCookie(token, request, response);
-                upgradedTokenCache.put(cookieTokens[0], new UpgradedRememberMeToken(cookieTokens, login));
+            } catch (DataAccessException e) {
+                log.error("Failed to update token: ", e);
+                throw new RememberMeAuthenticationException("Autologin failed due to data access problem", e);
             }
-            return getUserDetailsService().loadUserByUsername(login);
+            addCookie(token, request, response);
+            upgradedTokenCache.put(cookieTokens[0], new UpgradedRememberMeToken(cookieTokens, login));
+            return login;
         }
     }
 
+    /**
+     * Get the lock of a series: requests of a same series are serialized, as each replaces the token that the next
+     * one presents, while requests of other series, mostly sharing no lock, run in parallel.
+     */
+    private Object seriesLock(String series) {
+        return seriesLocks[series.hashCode() & (SERIES_LOCK_STRIPES - 1)];
+    }
+
     @Override
     protected void onLoginSuccess(HttpServletRequest request, HttpServletResponse response, Authentication successfulAuthentication) {
         String login = successfulAuthentication.getName();
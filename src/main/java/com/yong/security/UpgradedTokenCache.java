@@ -0,0 +1,106 @@
+package com.yong.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the remember-me tokens upgraded during the last few seconds, by series.
+ * <p>
+ * Unlike JHipster's {@code PersistentTokenCache}, the number of entries is capped, the oldest being evicted first, so
+ * that a burst of logins cannot grow it without limit. All entries live for the same time, so the insertion order is
+ * also the expiration order and expired entries are purged from the head in constant time per entry.
+ * <p>
+ * The hits, misses, evictions and size are published as the {@code remember.me.upgraded.tokens.*} metrics.
+ *
+ * @param <T> the type of the cached tokens.
+ */
+final class UpgradedTokenCache<T> {
+
+    private final long expireMillis;
+
+    private final int maxSize;
+
+    private final Map<String, Entry<T>> entries = new LinkedHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    UpgradedTokenCache(long expireMillis, int maxSize, MeterRegistry meterRegistry) {
+        this.expireMillis = expireMillis;
+        this.maxSize = maxSize;
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+        this.evictions =
+            Counter
+                .builder("remember.me.upgraded.tokens.evictions")
+                .description("Upgraded remember-me tokens evicted before expiring, the cache being full")
+                .register(meterRegistry);
+        Gauge
+            .builder("remember.me.upgraded.tokens.size", this, UpgradedTokenCache::size)
+            .description("Upgraded remember-me tokens in the cache")
+            .register(meterRegistry);
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter
+            .builder("remember.me.upgraded.tokens.gets")
+            .description("Lookups of upgraded remember-me tokens")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    synchronized T get(String series) {
+        purgeExpired(System.currentTimeMillis());
+        Entry<T> entry = entries.get(series);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.token;
+    }
+
+    synchronized void put(String series, T token) {
+        long now = System.currentTimeMillis();
+        purgeExpired(now);
+        // Removed first, to move the entry to the tail along with its new expiration time
+        entries.remove(series);
+        entries.put(series, new Entry<>(token, now + expireMillis));
+        Iterator<Entry<T>> eldest = entries.values().iterator();
+        while (entries.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiration <= now) {
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T token;
+
+        private final long expiration;
+
+        Entry(T token, long expiration) {
+            this.token = token;
+            this.expiration = expiration;
+        }
+    }
+}
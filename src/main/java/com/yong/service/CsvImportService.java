@@ -0,0 +1,420 @@
+package com.yong.service;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.Image;
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import com.yong.domain.Twitter;
+import com.yong.service.dto.ImportResultDTO;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing movies, news and twitters from CSV files in the format of the Liquibase fake data
+ * ({@code config/liquibase/fake-data/*.csv}): a header row naming the columns, then one {@code ;}-separated row per
+ * entity. The {@code id} column is ignored, ids being generated.
+ * <p>
+ * The file is parsed on the calling thread, and handed over by chunks of {@code application.batch.chunk-size} rows
+ * to a pool of {@code application.batch.import-workers} threads, each converting a chunk and writing it in one
+ * transaction with JDBC batches. Parsing waits when all the workers are busy, so memory stays flat whatever the size
+ * of the file. Progress is logged every {@value #PROGRESS_INTERVAL_SECONDS} seconds.
+ */
+@Service
+public class CsvImportService {
+
+    /**
+     * The tables which can be imported.
+     */
+    public enum Table {
+        MOVIE(Set.of("name")),
+        NEWS(Set.of("headerline", "url")),
+        TWITTER(Set.of("content"));
+
+        private final Set<String> requiredColumns;
+
+        Table(Set<String> requiredColumns) {
+            this.requiredColumns = requiredColumns;
+        }
+
+        /**
+         * Get a table from its name, as in the fake data file names.
+         *
+         * @param name the name of the table, in any case.
+         * @return the table.
+         * @throws IllegalArgumentException if there is no such table.
+         */
+        public static Table fromName(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+
+    private static final String IMAGE_KEY_SEPARATOR = "\n";
+
+    private final Logger log = LoggerFactory.getLogger(CsvImportService.class);
+
+    private final ImageService imageService;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final int chunkSize;
+
+    private final int workers;
+
+    private final int jdbcBatchSize;
+
+    public CsvImportService(
+        ImageService imageService,
+        EntityManager entityManager,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        ApplicationEventPublisher applicationEventPublisher,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int jdbcBatchSize
+    ) {
+        this.imageService = imageService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.chunkSize = applicationProperties.getBatch().getChunkSize();
+        this.workers = applicationProperties.getBatch().getImportWorkers();
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Import a CSV file.
+     * <p>
+     * Rows which cannot be converted, or are not valid, are rejected and reported by record number, the header being
+     * record 1. Chunks are committed as they are written: the rows imported before a failure are kept.
+     *
+     * @param table the table to import into.
+     * @param reader the CSV file.
+     * @param imageDirectory the directory the {@code image} column paths are relative to; if {@code null}, the
+     * {@code image} column is ignored.
+     * @return the number of created rows, the rejected ones, and the throughput.
+     * @throws IOException if the file cannot be read, or has no header.
+     */
+    public ImportResultDTO importCsv(Table table, Reader reader, Path imageDirectory) throws IOException {
+        log.info("Importing {} rows", table);
+        ImportResultDTO result = new ImportResultDTO();
+        long start = System.nanoTime();
+        Progress progress = new Progress(table, start);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(
+            workers,
+            runnable -> new Thread(runnable, "csv-import-" + threadNumber.incrementAndGet())
+        );
+        // Chunks parsed and not written yet: one being written per worker, and one waiting
+        Semaphore pendingChunks = new Semaphore(workers * 2);
+        try (CsvRecordReader csv = new CsvRecordReader(reader)) {
+            String[] header = csv.readRecord();
+            if (header == null) {
+                throw new IOException("Missing header row");
+            }
+            Columns columns = new Columns(header);
+            for (String column : table.requiredColumns) {
+                if (!columns.contains(column)) {
+                    throw new IOException("Missing column: " + column);
+                }
+            }
+            Map<String, Long> imageIds = new HashMap<>();
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String[] values;
+            while ((values = csv.readRecord()) != null) {
+                Row row = new Row(csv.getRecordNumber(), columns, values);
+                if (imageDirectory != null && table != Table.TWITTER) {
+                    try {
+                        row.imageId = resolveImage(row, imageDirectory, imageIds);
+                    } catch (IOException e) {
+                        result.addError(row.number, "Unreadable image: " + e.getMessage());
+                        continue;
+                    }
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    submit(executor, pendingChunks, table, chunk, result, progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(executor, pendingChunks, table, chunk, result, progress);
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Imported {} rows: {}", table, result);
+        return result;
+    }
+
+    private void submit(
+        ExecutorService executor,
+        Semaphore pendingChunks,
+        Table table,
+        List<Row> chunk,
+        ImportResultDTO result,
+        Progress progress
+    ) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            pendingChunks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import of " + table + " interrupted");
+        }
+        executor.execute(
+            () -> {
+                try {
+                    int created = writeChunk(table, chunk, result);
+                    result.addCreated(created);
+                    progress.add(created);
+                } finally {
+                    pendingChunks.release();
+                }
+            }
+        );
+    }
+
+    private int writeChunk(Table table, List<Row> chunk, ImportResultDTO result) {
+        List<Row> rows = new ArrayList<>(chunk.size());
+        List<Object> entities = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            try {
+                Object entity = toEntity(table, row);
+                String error = validate(entity);
+                if (error != null) {
+                    result.addError(row.number, error);
+                } else {
+                    rows.add(row);
+                    entities.add(entity);
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.addError(row.number, e.getMessage());
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                    for (int i = 0; i < entities.size(); i++) {
+                        Row row = rows.get(i);
+                        Object entity = entities.get(i);
+                        if (row.imageId != null) {
+                            Image image = entityManager.getReference(Image.class, row.imageId);
+                            if (entity instanceof Movie) {
+                                ((Movie) entity).setImage(image);
+                            } else if (entity instanceof News) {
+                                ((News) entity).setImage(image);
+                            }
+                        }
+                        entityManager.persist(entity);
+                        if ((i + 1) % jdbcBatchSize == 0) {
+                            entityManager.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    if (!entities.isEmpty()) {
+                        applicationEventPublisher.publishEvent(new EntityChangedEvent(entities.get(0).getClass(), null));
+                    }
+                }
+            );
+        } catch (RuntimeException e) {
+            long first = chunk.get(0).number;
+            long last = chunk.get(chunk.size() - 1).number;
+            log.warn("Could not write the {} records {} to {}: {}", table, first, last, e.getMessage());
+            for (Row row : rows) {
+                result.addError(row.number, "Not written: " + e.getMessage());
+            }
+            return 0;
+        }
+        return entities.size();
+    }
+
+    private Object toEntity(Table table, Row row) {
+        switch (table) {
+            case MOVIE:
+                return new Movie()
+                    .name(row.get("name"))
+                    .director(row.get("director"))
+                    .synopsis(row.get("synopsis"))
+                    .comment(row.get("comment"))
+                    .startDate(row.getInstant("start_date"));
+            case NEWS:
+                return new News().headerline(row.get("headerline")).url(row.get("url")).pubDate(row.getInstant("pub_date"));
+            case TWITTER:
+                return new Twitter().content(row.get("content")).pubDate(row.getInstant("pub_date")).publisher(row.get("publisher"));
+            default:
+                throw new IllegalArgumentException("Unsupported table: " + table);
+        }
+    }
+
+    private String validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Store the image of a row, each distinct file being read and stored once per import.
+     */
+    private Long resolveImage(Row row, Path imageDirectory, Map<String, Long> imageIds) throws IOException {
+        String path = row.get("image");
+        if (path == null) {
+            return null;
+        }
+        String contentType = row.get("image_content_type");
+        String key = path + IMAGE_KEY_SEPARATOR + contentType;
+        Long imageId = imageIds.get(key);
+        if (imageId == null) {
+            byte[] data = Files.readAllBytes(imageDirectory.resolve(path).normalize());
+            imageId = transactionTemplate.execute(status -> imageService.store(data, contentType).getId());
+            imageIds.put(key, imageId);
+        }
+        return imageId;
+    }
+
+    /**
+     * Positions of the columns of a file, by name.
+     */
+    private static final class Columns {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Columns(String[] header) {
+            for (int i = 0; i < header.length; i++) {
+                indexes.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        boolean contains(String column) {
+            return indexes.containsKey(column);
+        }
+    }
+
+    /**
+     * A parsed row, with the id of its image once stored.
+     */
+    private static final class Row {
+
+        private final long number;
+
+        private final Columns columns;
+
+        private final String[] values;
+
+        private Long imageId;
+
+        Row(long number, Columns columns, String[] values) {
+            this.number = number;
+            this.columns = columns;
+            this.values = values;
+        }
+
+        /**
+         * @return the value of a column, {@code null} if the column is missing or the value empty.
+         */
+        String get(String column) {
+            Integer index = columns.indexes.get(column);
+            if (index == null || index >= values.length || values[index].isEmpty()) {
+                return null;
+            }
+            return values[index];
+        }
+
+        /**
+         * @return the instant of a column, either as an ISO instant, or as an ISO local date-time in UTC, like the
+         * Liquibase fake data.
+         */
+        Instant getInstant(String column) {
+            String value = get(column);
+            if (value == null) {
+                return null;
+            }
+            if (value.endsWith("Z")) {
+                return Instant.parse(value);
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Count of the rows written, logged with the throughput at most every {@value #PROGRESS_INTERVAL_SECONDS} seconds.
+     */
+    private final class Progress {
+
+        private final Table table;
+
+        private final long start;
+
+        private final AtomicLong rows = new AtomicLong();
+
+        private final AtomicLong lastReport;
+
+        Progress(Table table, long start) {
+            this.table = table;
+            this.start = start;
+            this.lastReport = new AtomicLong(start);
+        }
+
+        void add(int count) {
+            long total = rows.addAndGet(count);
+            long now = System.nanoTime();
+            long last = lastReport.get();
+            if (now - last >= TimeUnit.SECONDS.toNanos(PROGRESS_INTERVAL_SECONDS) && lastReport.compareAndSet(last, now)) {
+                long rowsPerSecond = total * TimeUnit.SECONDS.toNanos(1) / Math.max(1, now - start);
+                log.info("Imported {} {} rows so far, {} rows/s", total, table, rowsPerSecond);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.yong.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of the records of a CSV file in the format of the Liquibase fake data: values separated by {@code ;},
+ * optionally quoted with {@code "}, quotes being doubled inside quoted values, which may span several lines.
+ * <p>
+ * Empty lines are skipped.
+ */
+class CsvRecordReader implements Closeable {
+
+    static final char SEPARATOR = ';';
+
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+
+    private long recordNumber;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the values of the record, or {@code null} at the end of the file.
+     * @throws IOException if the file cannot be read, or ends inside a quoted value.
+     */
+    String[] readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isEmpty());
+        recordNumber++;
+        if (line.indexOf(QUOTE) < 0) {
+            return split(line);
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // The quoted value goes on, on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Unterminated quoted value in record " + recordNumber);
+                }
+                value.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != QUOTE) {
+                    value.append(c);
+                } else if (i < line.length() && line.charAt(i) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    /**
+     * @return the number of the last record read, starting at 1 with the header.
+     */
+    long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private static String[] split(String line) {
+        List<String> values = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(SEPARATOR, start)) >= 0) {
+            values.add(line.substring(start, end));
+            start = end + 1;
+        }
+        values.add(line.substring(start));
+        return values.toArray(new String[0]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.yong.service;
+
+import com.yong.domain.Image;
+import com.yong.domain.ImageContent;
+import com.yong.repository.ImageContentRepository;
+import com.yong.service.dto.ImageDTO;
+import javax.sql.DataSource;
+import org.springframework.core.io.Resource;
+
+/**
+ * {@link ImageContentStore} keeping the image bytes in the {@code image_content} table.
+ */
+public class DatabaseImageContentStore implements ImageContentStore {
+
+    private final ImageContentRepository imageContentRepository;
+
+    private final DataSource dataSource;
+
+    public DatabaseImageContentStore(ImageContentRepository imageContentRepository, DataSource dataSource) {
+        this.imageContentRepository = imageContentRepository;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void store(Image image, byte[] data) {
+        imageContentRepository.save(new ImageContent().image(image).content(data));
+    }
+
+    @Override
+    public Resource getContent(ImageDTO image) {
+        return new ImageContentResource(dataSource, image.getId(), image.getSize());
+    }
+
+    @Override
+    public void delete(Image image) {
+        if (imageContentRepository.existsById(image.getId())) {
+            imageContentRepository.deleteById(image.getId());
+        }
+    }
+}
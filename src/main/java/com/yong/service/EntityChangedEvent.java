@@ -0,0 +1,35 @@
+package com.yong.service;
+
+/**
+ * Event published when a {@link com.yong.domain.Movie}, a {@link com.yong.domain.News} or a
+ * {@link com.yong.domain.Twitter} is created, updated or deleted.
+ * <p>
+ * Listeners are expected to run after the surrounding transaction has committed.
+ */
+public class EntityChangedEvent {
+
+    private final Class<?> entityType;
+
+    private final Long entityId;
+
+    public EntityChangedEvent(Class<?> entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the id of the changed entity, or {@code null} when several entities changed at once.
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" + "entityType=" + entityType.getSimpleName() + ", entityId=" + entityId + "}";
+    }
+}
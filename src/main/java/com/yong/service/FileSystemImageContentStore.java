@@ -0,0 +1,121 @@
+package com.yong.service;
+
+import com.yong.domain.Image;
+import com.yong.repository.ImageRepository;
+import com.yong.service.dto.ImageDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * {@link ImageContentStore} keeping the image bytes in a content-addressed directory.
+ * <p>
+ * Each distinct content is written once, under {@code <directory>/<ab>/<cd>/<sha256>}, so identical images share
+ * one file and the database only keeps the hash. Files are written to a temporary name and moved in place, so a
+ * reader never sees a partial file.
+ */
+public class FileSystemImageContentStore implements ImageContentStore {
+
+    private final Logger log = LoggerFactory.getLogger(FileSystemImageContentStore.class);
+
+    private final Path directory;
+
+    private final ImageRepository imageRepository;
+
+    public FileSystemImageContentStore(Path directory, ImageRepository imageRepository) {
+        this.directory = directory;
+        this.imageRepository = imageRepository;
+    }
+
+    @Override
+    public void store(Image image, byte[] data) {
+        Path path = resolve(image.getSha256());
+        if (Files.exists(path)) {
+            log.debug("Content {} is already stored", image.getSha256());
+            return;
+        }
+        try {
+            Path temp = createTempFile(path);
+            try {
+                Files.write(temp, data);
+                moveInPlace(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store content " + image.getSha256(), e);
+        }
+    }
+
+    /**
+     * Copy some content into the store, checking it against its expected hash.
+     *
+     * @param sha256 the expected SHA-256 of the content.
+     * @param in the content, which is not closed.
+     * @return {@code true} if the content was copied, {@code false} if it was already stored.
+     * @throws IOException if the content could not be copied or does not match the hash.
+     */
+    public boolean copy(String sha256, InputStream in) throws IOException {
+        Path path = resolve(sha256);
+        if (Files.exists(path)) {
+            return false;
+        }
+        Path temp = createTempFile(path);
+        try {
+            MessageDigest digest = ImageService.newSha256Digest();
+            Files.copy(new DigestInputStream(in, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            String actual = ImageService.toHex(digest.digest());
+            if (!actual.equals(sha256)) {
+                throw new IOException("Content hash " + actual + " does not match " + sha256);
+            }
+            moveInPlace(temp, path);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource getContent(ImageDTO image) {
+        return new FileSystemResource(resolve(image.getSha256()));
+    }
+
+    @Override
+    public void delete(Image image) {
+        if (imageRepository.existsBySha256AndIdNot(image.getSha256(), image.getId())) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(image.getSha256()));
+        } catch (IOException e) {
+            log.warn("Could not delete content {}: {}", image.getSha256(), e.getMessage());
+        }
+    }
+
+    Path resolve(String sha256) {
+        return directory.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static Path createTempFile(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+    }
+
+    private static void moveInPlace(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.yong.service;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * A {@link org.springframework.core.io.Resource} reading the bytes of an {@link com.yong.domain.Image}
+ * straight from the JDBC stream of the {@code image_content} table.
+ * <p>
+ * The connection is held only while the stream is open, and released when it is closed, so the bytes
+ * never go through a {@code byte[]} or an entity.
+ */
+class ImageContentResource extends AbstractResource {
+
+    private static final String SELECT_CONTENT = "select content from image_content where image_id = ?";
+
+    private final DataSource dataSource;
+
+    private final Long imageId;
+
+    private final long contentLength;
+
+    ImageContentResource(DataSource dataSource, Long imageId, long contentLength) {
+        this.dataSource = dataSource;
+        this.imageId = imageId;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Image content [" + imageId + "]";
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(SELECT_CONTENT);
+            statement.setLong(1, imageId);
+            resultSet = statement.executeQuery();
+            if (!resultSet.next()) {
+                throw new FileNotFoundException(getDescription() + " does not exist");
+            }
+            return new JdbcInputStream(resultSet.getBinaryStream(1), connection, statement, resultSet);
+        } catch (SQLException | IOException | RuntimeException e) {
+            release(connection, statement, resultSet);
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("Could not read " + getDescription(), e);
+        }
+    }
+
+    private void release(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(statement);
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+
+    private class JdbcInputStream extends FilterInputStream {
+
+        private final Connection connection;
+
+        private final PreparedStatement statement;
+
+        private final ResultSet resultSet;
+
+        JdbcInputStream(InputStream in, Connection connection, PreparedStatement statement, ResultSet resultSet) {
+            super(in);
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release(connection, statement, resultSet);
+            }
+        }
+    }
+}
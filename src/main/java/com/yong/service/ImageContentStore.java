@@ -0,0 +1,35 @@
+package com.yong.service;
+
+import com.yong.domain.Image;
+import com.yong.service.dto.ImageDTO;
+import org.springframework.core.io.Resource;
+
+/**
+ * Storage backend for the bytes of an {@link Image}.
+ * <p>
+ * The backend is chosen with the {@code application.image-storage.type} property.
+ */
+public interface ImageContentStore {
+    /**
+     * Store the bytes of a newly created image.
+     *
+     * @param image the persisted image metadata.
+     * @param data the image bytes.
+     */
+    void store(Image image, byte[] data);
+
+    /**
+     * Get the bytes of an image as a resource, without reading them.
+     *
+     * @param image the image metadata.
+     * @return the image content.
+     */
+    Resource getContent(ImageDTO image);
+
+    /**
+     * Delete the bytes of an image which is about to be deleted.
+     *
+     * @param image the image metadata.
+     */
+    void delete(Image image);
+}
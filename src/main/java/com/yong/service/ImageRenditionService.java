@@ -0,0 +1,217 @@
+package com.yong.service;
+
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.service.dto.ImageDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service generating the downscaled renditions of uploaded images in the background.
+ * <p>
+ * Generation runs on the application {@code taskExecutor} once the upload transaction has committed, so saving a
+ * {@link com.yong.domain.Movie} or a {@link com.yong.domain.News} never waits for image decoding. Renditions are
+ * keyed by the content hash of the source image: uploading the same bytes again does not generate anything.
+ * <p>
+ * Images over {@value #MAX_SOURCE_PIXELS} pixels are not decoded, as a small file can declare dimensions needing
+ * gigabytes of memory.
+ */
+@Service
+public class ImageRenditionService {
+
+    private static final String JPEG_CONTENT_TYPE = "image/jpeg";
+
+    private static final String PNG_CONTENT_TYPE = "image/png";
+
+    // 100 MB once decoded as RGB, such as 10000 x 2500 pixels
+    static final long MAX_SOURCE_PIXELS = 25_000_000;
+
+    private final Logger log = LoggerFactory.getLogger(ImageRenditionService.class);
+
+    private final ImageService imageService;
+
+    private final Executor taskExecutor;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Timer generationTimer;
+
+    public ImageRenditionService(
+        ImageService imageService,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        this.imageService = imageService;
+        this.taskExecutor = taskExecutor;
+        Gauge
+            .builder("image.renditions.pending", pending, AtomicInteger::get)
+            .description("Number of uploaded images waiting for their renditions")
+            .register(meterRegistry);
+        this.generationTimer =
+            Timer
+                .builder("image.renditions.generation")
+                .description("Time spent generating the renditions of an image")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue the generation of the renditions of an uploaded image.
+     *
+     * @param event the upload event.
+     */
+    @TransactionalEventListener
+    public void onImageUploaded(ImageUploadedEvent event) {
+        log.debug("Queueing rendition generation for Image : {}", event.getImageId());
+        pending.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    generationTimer.record(() -> generateRenditions(event.getImageId()));
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            log.warn("Could not queue rendition generation for Image {}: {}", event.getImageId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Generate the missing renditions of an image.
+     * <p>
+     * This is idempotent: renditions which already exist for the image content are left untouched.
+     *
+     * @param imageId the id of the source image.
+     */
+    public void generateRenditions(Long imageId) {
+        Optional<ImageDTO> found = imageService.findOne(imageId);
+        if (found.isEmpty()) {
+            log.debug("Image {} was removed before its renditions were generated", imageId);
+            return;
+        }
+        ImageDTO source = found.get();
+        Set<ImageSize> missing = EnumSet.noneOf(ImageSize.class);
+        for (ImageSize size : ImageSize.values()) {
+            if (imageService.findRendition(source, size).isEmpty()) {
+                missing.add(size);
+            }
+        }
+        if (missing.isEmpty()) {
+            log.debug("Renditions of Image {} already exist", imageId);
+            return;
+        }
+        BufferedImage original;
+        try (InputStream in = imageService.getContent(source).getInputStream()) {
+            original = read(in);
+        } catch (IOException e) {
+            log.warn("Could not read Image {}: {}", imageId, e.getMessage());
+            return;
+        }
+        if (original == null) {
+            log.debug("Image {} has an unsupported format: {}", imageId, source.getContentType());
+            return;
+        }
+        for (ImageSize size : missing) {
+            try {
+                if (original.getWidth() <= size.getMaxDimension() && original.getHeight() <= size.getMaxDimension()) {
+                    imageService.saveRendition(source, size);
+                } else {
+                    boolean alpha = original.getColorModel().hasAlpha();
+                    byte[] data = encode(scale(original, size.getMaxDimension()), alpha ? "png" : "jpg");
+                    imageService.saveRendition(source, size, data, alpha ? PNG_CONTENT_TYPE : JPEG_CONTENT_TYPE);
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.debug("{} rendition of Image {} was generated concurrently", size, imageId);
+            } catch (IOException e) {
+                log.warn("Could not generate {} rendition of Image {}: {}", size, imageId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Decode an image, after checking its dimensions.
+     *
+     * @return the image, or {@code null} if its format is not supported.
+     * @throws IOException if the image cannot be read, or is too large.
+     */
+    private static BufferedImage read(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image of " + width + "x" + height + " pixels, over " + MAX_SOURCE_PIXELS);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image down so that it fits in a square, keeping its aspect ratio.
+     * <p>
+     * Large reductions are done in successive halvings, as a single bilinear pass would skip most source pixels.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min((double) maxDimension / source.getWidth(), (double) maxDimension / source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        return out.toByteArray();
+    }
+}
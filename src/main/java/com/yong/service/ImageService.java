@@ -0,0 +1,221 @@
+package com.yong.service;
+
+import com.yong.domain.Image;
+import com.yong.domain.ImageRendition;
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.repository.ImageRenditionRepository;
+import com.yong.repository.ImageRepository;
+import com.yong.service.dto.ImageDTO;
+import com.yong.service.mapper.ImageMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link Image}.
+ * <p>
+ * Images are stored once per content hash and content type, and shared by every entity that uses them.
+ */
+@Service
+@Transactional
+public class ImageService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    private final ImageRepository imageRepository;
+
+    private final ImageContentStore imageContentStore;
+
+    private final ImageRenditionRepository imageRenditionRepository;
+
+    private final ImageMapper imageMapper;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ImageService(
+        ImageRepository imageRepository,
+        ImageContentStore imageContentStore,
+        ImageRenditionRepository imageRenditionRepository,
+        ImageMapper imageMapper,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.imageRepository = imageRepository;
+        this.imageContentStore = imageContentStore;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.imageMapper = imageMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Resolve the image an entity should point to after a save.
+     *
+     * @param current the image metadata sent by the client, if any.
+     * @param data the newly uploaded bytes, if any.
+     * @param contentType the content type of the newly uploaded bytes.
+     * @return the image to attach, or {@code null} if the entity has no image.
+     */
+    public Image resolve(ImageDTO current, byte[] data, String contentType) {
+        if (data != null) {
+            return store(data, contentType);
+        }
+        if (current != null && current.getId() != null) {
+            return imageRepository.findById(current.getId()).orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * Store the bytes of an uploaded image, reusing an existing image with the same content.
+     * <p>
+     * An {@link ImageUploadedEvent} is published so that the renditions get generated once the
+     * transaction has committed.
+     *
+     * @param data the image bytes.
+     * @param contentType the image content type.
+     * @return the persisted image metadata.
+     */
+    public Image store(byte[] data, String contentType) {
+        Image image = storeContent(data, contentType);
+        applicationEventPublisher.publishEvent(new ImageUploadedEvent(image.getId()));
+        return image;
+    }
+
+    private Image storeContent(byte[] data, String contentType) {
+        if (contentType == null) {
+            contentType = DEFAULT_CONTENT_TYPE;
+        }
+        String sha256 = sha256(data);
+        Optional<Image> existing = imageRepository.findFirstBySha256AndContentType(sha256, contentType);
+        if (existing.isPresent()) {
+            log.debug("Reusing Image {} for content {}", existing.get().getId(), sha256);
+            return existing.get();
+        }
+        log.debug("Request to store Image of {} bytes", data.length);
+        Image image = imageRepository.save(new Image().contentType(contentType).size((long) data.length).sha256(sha256));
+        imageContentStore.store(image, data);
+        return image;
+    }
+
+    /**
+     * Get one image by id.
+     *
+     * @param id the id of the image.
+     * @return the image metadata.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageDTO> findOne(Long id) {
+        log.debug("Request to get Image : {}", id);
+        return imageRepository.findById(id).map(imageMapper::toDto);
+    }
+
+    /**
+     * Get the rendition of an image, if it has been generated already.
+     *
+     * @param source the source image metadata.
+     * @param size the rendition size.
+     * @return the rendition image metadata.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageDTO> findRendition(ImageDTO source, ImageSize size) {
+        log.debug("Request to get {} rendition of Image : {}", size, source.getId());
+        return imageRenditionRepository
+            .findOneBySourceSha256AndSize(source.getSha256(), size)
+            .map(ImageRendition::getImage)
+            .map(imageMapper::toDto);
+    }
+
+    /**
+     * Store the bytes of a rendition.
+     *
+     * @param source the source image metadata.
+     * @param size the rendition size.
+     * @param data the rendition bytes.
+     * @param contentType the rendition content type.
+     */
+    public void saveRendition(ImageDTO source, ImageSize size, byte[] data, String contentType) {
+        log.debug("Request to save {} rendition of Image : {}", size, source.getId());
+        Image image = storeContent(data, contentType);
+        imageRenditionRepository.save(new ImageRendition().sourceSha256(source.getSha256()).size(size).image(image));
+    }
+
+    /**
+     * Use the source image itself as a rendition, when it is already small enough.
+     *
+     * @param source the source image metadata.
+     * @param size the rendition size.
+     */
+    public void saveRendition(ImageDTO source, ImageSize size) {
+        log.debug("Request to use Image {} as its own {} rendition", source.getId(), size);
+        Image image = imageRepository.getOne(source.getId());
+        imageRenditionRepository.save(new ImageRendition().sourceSha256(source.getSha256()).size(size).image(image));
+    }
+
+    /**
+     * Get the bytes of an image as a resource, from the configured {@link ImageContentStore}.
+     * <p>
+     * Nothing is read until the resource input stream is opened, which lets the web layer answer
+     * conditional requests without touching the content.
+     *
+     * @param image the image metadata.
+     * @return the image content.
+     */
+    public Resource getContent(ImageDTO image) {
+        return imageContentStore.getContent(image);
+    }
+
+    /**
+     * Images which are not referenced by any entity any more are removed, along with their renditions.
+     * <p>
+     * This is scheduled to get fired everyday, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void removeOrphanImages() {
+        int renditions = imageRenditionRepository.deleteAllOrphans();
+        log.debug("Deleted {} orphan ImageRenditions", renditions);
+        List<Image> orphans = imageRepository.findAllOrphans();
+        for (Image image : orphans) {
+            log.debug("Deleting orphan Image {}", image.getId());
+            imageContentStore.delete(image);
+            imageRepository.delete(image);
+        }
+    }
+
+    /**
+     * Compute the lowercase hexadecimal SHA-256 digest of some bytes.
+     *
+     * @param data the bytes to hash.
+     * @return the hexadecimal digest.
+     */
+    public static String sha256(byte[] data) {
+        return toHex(newSha256Digest().digest(data));
+    }
+
+    static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toHex(byte[] digest) {
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,79 @@
+package com.yong.service;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.Image;
+import com.yong.repository.ImageContentRepository;
+import com.yong.repository.ImageRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service copying the image bytes kept in the database into the filesystem image store.
+ * <p>
+ * This is meant to be run once, before switching {@code application.image-storage.type} to {@code filesystem}.
+ * Contents are streamed one at a time, and checked against their hash. The database rows are left untouched,
+ * so the migration can be run again, and the database backend used again, safely.
+ */
+@Service
+public class ImageStorageMigrationService {
+
+    private final Logger log = LoggerFactory.getLogger(ImageStorageMigrationService.class);
+
+    private final ImageRepository imageRepository;
+
+    private final ImageContentRepository imageContentRepository;
+
+    private final DataSource dataSource;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ImageStorageMigrationService(
+        ImageRepository imageRepository,
+        ImageContentRepository imageContentRepository,
+        DataSource dataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        this.imageRepository = imageRepository;
+        this.imageContentRepository = imageContentRepository;
+        this.dataSource = dataSource;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Copy every image content from the database into the filesystem store.
+     *
+     * @return the number of contents copied.
+     */
+    public int migrateToFileSystem() {
+        String directory = applicationProperties.getImageStorage().getDirectory();
+        FileSystemImageContentStore target = new FileSystemImageContentStore(Paths.get(directory), imageRepository);
+        List<Long> ids = imageContentRepository.findAllIds();
+        log.info("Copying {} image contents to {}", ids.size(), directory);
+        int copied = 0;
+        int failed = 0;
+        for (Long id : ids) {
+            Optional<Image> image = imageRepository.findById(id);
+            if (image.isEmpty()) {
+                continue;
+            }
+            ImageContentResource content = new ImageContentResource(dataSource, id, image.get().getSize());
+            try (InputStream in = content.getInputStream()) {
+                if (target.copy(image.get().getSha256(), in)) {
+                    copied++;
+                }
+            } catch (IOException e) {
+                failed++;
+                log.warn("Could not copy the content of Image {}: {}", id, e.getMessage());
+            }
+        }
+        log.info("Copied {} image contents to {}, {} already present, {} failed", copied, directory, ids.size() - copied - failed, failed);
+        return copied;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yong.service;
+
+/**
+ * Event published when an image is stored for a {@link com.yong.domain.Movie} or a {@link com.yong.domain.News}.
+ * <p>
+ * Listeners are expected to run after the surrounding transaction has committed.
+ */
+public class ImageUploadedEvent {
+
+    private final Long imageId;
+
+    public ImageUploadedEvent(Long imageId) {
+        this.imageId = imageId;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    @Override
+    public String toString() {
+        return "ImageUploadedEvent{" + "imageId=" + imageId + "}";
+    }
+}
@@ -1,15 +1,29 @@
 package com.yong.service;
 
 import com.yong.domain.Movie;
+import com.yong.domain.User;
+import com.yong.repository.KeysetCursor;
+import com.yong.repository.ExportRepository;
+import com.yong.repository.KeysetRepository;
 import com.yong.repository.MovieRepository;
+import com.yong.service.dto.ImageDTO;
 import com.yong.service.dto.MovieDTO;
+import com.yong.service.mapper.ImageMapper;
 import com.yong.service.mapper.MovieMapper;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -25,9 +39,44 @@ public class MovieService {
 
     private final MovieMapper movieMapper;
 
-    public MovieService(MovieRepository movieRepository, MovieMapper movieMapper) {
+    private final ImageService imageService;
+
+    private final ImageMapper imageMapper;
+
+    private final KeysetRepository keysetRepository;
+
+    private final ExportRepository exportRepository;
+
+    private final UserService userService;
+
+    private final UserListCache userListCache;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final SingleFlightLoader singleFlightLoader;
+
+    public MovieService(
+        MovieRepository movieRepository,
+        MovieMapper movieMapper,
+        ImageService imageService,
+        ImageMapper imageMapper,
+        KeysetRepository keysetRepository,
+        ExportRepository exportRepository,
+        UserService userService,
+        UserListCache userListCache,
+        ApplicationEventPublisher applicationEventPublisher,
+        SingleFlightLoader singleFlightLoader
+    ) {
         this.movieRepository = movieRepository;
         this.movieMapper = movieMapper;
+        this.imageService = imageService;
+        this.imageMapper = imageMapper;
+        this.keysetRepository = keysetRepository;
+        this.exportRepository = exportRepository;
+        this.userService = userService;
+        this.userListCache = userListCache;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.singleFlightLoader = singleFlightLoader;
     }
 
     /**
@@ -38,8 +87,14 @@ public class MovieService {
      */
     public MovieDTO save(MovieDTO movieDTO) {
         log.debug("Request to save Movie : {}", movieDTO);
+        if (movieDTO.getId() != null) {
+            movieRepository.findUserIdById(movieDTO.getId()).ifPresent(this::evictUserCache);
+        }
         Movie movie = movieMapper.toEntity(movieDTO);
+        movie.setImage(imageService.resolve(movieDTO.getImage(), movieDTO.getImageData(), movieDTO.getImageDataContentType()));
         movie = movieRepository.save(movie);
+        evictUserCache(movie.getUser());
+        publishChange(movie.getId());
         return movieMapper.toDto(movie);
     }
 
@@ -56,7 +111,13 @@ public class MovieService {
             .findById(movieDTO.getId())
             .map(
                 existingMovie -> {
+                    evictUserCache(existingMovie.getUser());
                     movieMapper.partialUpdate(existingMovie, movieDTO);
+                    if (movieDTO.getImageData() != null) {
+                        existingMovie.setImage(imageService.store(movieDTO.getImageData(), movieDTO.getImageDataContentType()));
+                    }
+                    evictUserCache(existingMovie.getUser());
+                    publishChange(existingMovie.getId());
                     return existingMovie;
                 }
             )
@@ -73,19 +134,124 @@ public class MovieService {
     @Transactional(readOnly = true)
     public Page<MovieDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Movies");
-        return movieRepository.findAll(pageable).map(movieMapper::toDto);
+        return movieRepository.findAllProjectedBy(pageable);
+    }
+
+    /**
+     * Get a slice of the movies, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MovieDTO> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Movies");
+        return movieRepository.findSliceProjectedBy(pageable);
+    }
+
+    /**
+     * Get the movies after a cursor, without counting them.
+     *
+     * @param cursor the position to start after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MovieDTO> findAll(KeysetCursor cursor, int size) {
+        log.debug("Request to get Movies after : {}", cursor);
+        return keysetRepository.findAll(Movie.class, MovieDTO.class, MovieRepository.LIST_PATHS, null, cursor, size);
+    }
+
+    /**
+     * Get the movies of the current user.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities, empty if no user is logged in.
+     */
+    @Transactional(readOnly = true)
+    public Page<MovieDTO> findAllOfCurrentUser(Pageable pageable) {
+        log.debug("Request to get the Movies of the current user");
+        return getCurrentUserId()
+            .map(
+                userId ->
+                    userListCache.get(
+                        MovieRepository.MOVIES_BY_USER_CACHE,
+                        userId,
+                        "page:" + pageable,
+                        () -> movieRepository.findAllProjectedByUserId(userId, pageable)
+                    )
+            )
+            .orElseGet(() -> Page.empty(pageable));
+    }
+
+    /**
+     * Get the movies of the current user after a cursor, without counting them.
+     *
+     * @param cursor the position to start after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities, empty if no user is logged in.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MovieDTO> findAllOfCurrentUser(KeysetCursor cursor, int size) {
+        log.debug("Request to get the Movies of the current user after : {}", cursor);
+        return getCurrentUserId()
+            .map(
+                userId ->
+                    userListCache.get(
+                        MovieRepository.MOVIES_BY_USER_CACHE,
+                        userId,
+                        "after:" + cursor.encode() + ":" + size,
+                        () ->
+                            keysetRepository.findAll(
+                                Movie.class,
+                                MovieDTO.class,
+                                MovieRepository.LIST_PATHS,
+                                ownedBy(userId),
+                                cursor,
+                                size
+                            )
+                    )
+            )
+            .orElseGet(() -> new SliceImpl<>(List.of()));
+    }
+
+    /**
+     * Export all the movies, in id order.
+     *
+     * @param consumer the consumer of each entity, called as the rows are read.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<MovieDTO> consumer) {
+        log.debug("Request to export all Movies");
+        try (Stream<MovieDTO> movies = exportRepository.stream(MovieRepository.EXPORT_QUERY, MovieDTO.class)) {
+            movies.forEach(consumer);
+        }
     }
 
     /**
      * Get one movie by id.
+     * <p>
+     * Concurrent requests for the same movie share a single load, see {@link SingleFlightLoader}.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<MovieDTO> findOne(Long id) {
         log.debug("Request to get Movie : {}", id);
-        return movieRepository.findById(id).map(movieMapper::toDto);
+        return singleFlightLoader.load(Movie.class, id, () -> movieRepository.findById(id).map(movieMapper::toDto));
+    }
+
+    /**
+     * Get the image metadata of one movie by id.
+     *
+     * @param id the id of the entity.
+     * @return the image metadata, empty if the entity does not exist or has no image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageDTO> findImage(Long id) {
+        log.debug("Request to get the image of Movie : {}", id);
+        return movieRepository.findImageById(id).map(imageMapper::toDto);
     }
 
     /**
@@ -95,6 +261,30 @@ public class MovieService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Movie : {}", id);
+        movieRepository.findUserIdById(id).ifPresent(this::evictUserCache);
         movieRepository.deleteById(id);
+        publishChange(id);
+    }
+
+    private Optional<Long> getCurrentUserId() {
+        return userService.getUserWithAuthorities().map(User::getId);
+    }
+
+    private static Specification<Movie> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    private void publishChange(Long id) {
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(Movie.class, id));
+    }
+
+    private void evictUserCache(User user) {
+        if (user != null) {
+            evictUserCache(user.getId());
+        }
+    }
+
+    private void evictUserCache(Long userId) {
+        userListCache.evict(MovieRepository.MOVIES_BY_USER_CACHE, userId);
     }
 }
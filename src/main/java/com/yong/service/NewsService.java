@@ -1,15 +1,29 @@
 package com.yong.service;
 
 import com.yong.domain.News;
+import com.yong.domain.User;
+import com.yong.repository.KeysetCursor;
+import com.yong.repository.ExportRepository;
+import com.yong.repository.KeysetRepository;
 import com.yong.repository.NewsRepository;
+import com.yong.service.dto.ImageDTO;
 import com.yong.service.dto.NewsDTO;
+import com.yong.service.mapper.ImageMapper;
 import com.yong.service.mapper.NewsMapper;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -25,9 +39,44 @@ public class NewsService {
 
     private final NewsMapper newsMapper;
 
-    public NewsService(NewsRepository newsRepository, NewsMapper newsMapper) {
+    private final ImageService imageService;
+
+    private final ImageMapper imageMapper;
+
+    private final KeysetRepository keysetRepository;
+
+    private final ExportRepository exportRepository;
+
+    private final UserService userService;
+
+    private final UserListCache userListCache;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final SingleFlightLoader singleFlightLoader;
+
+    public NewsService(
+        NewsRepository newsRepository,
+        NewsMapper newsMapper,
+        ImageService imageService,
+        ImageMapper imageMapper,
+        KeysetRepository keysetRepository,
+        ExportRepository exportRepository,
+        UserService userService,
+        UserListCache userListCache,
+        ApplicationEventPublisher applicationEventPublisher,
+        SingleFlightLoader singleFlightLoader
+    ) {
         this.newsRepository = newsRepository;
         this.newsMapper = newsMapper;
+        this.imageService = imageService;
+        this.imageMapper = imageMapper;
+        this.keysetRepository = keysetRepository;
+        this.exportRepository = exportRepository;
+        this.userService = userService;
+        this.userListCache = userListCache;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.singleFlightLoader = singleFlightLoader;
     }
 
     /**
@@ -38,8 +87,14 @@ public class NewsService {
      */
     public NewsDTO save(NewsDTO newsDTO) {
         log.debug("Request to save News : {}", newsDTO);
+        if (newsDTO.getId() != null) {
+            newsRepository.findUserIdById(newsDTO.getId()).ifPresent(this::evictUserCache);
+        }
         News news = newsMapper.toEntity(newsDTO);
+        news.setImage(imageService.resolve(newsDTO.getImage(), newsDTO.getImageData(), newsDTO.getImageDataContentType()));
         news = newsRepository.save(news);
+        evictUserCache(news.getUser());
+        publishChange(news.getId());
         return newsMapper.toDto(news);
     }
 
@@ -56,7 +111,13 @@ public class NewsService {
             .findById(newsDTO.getId())
             .map(
                 existingNews -> {
+                    evictUserCache(existingNews.getUser());
                     newsMapper.partialUpdate(existingNews, newsDTO);
+                    if (newsDTO.getImageData() != null) {
+                        existingNews.setImage(imageService.store(newsDTO.getImageData(), newsDTO.getImageDataContentType()));
+                    }
+                    evictUserCache(existingNews.getUser());
+                    publishChange(existingNews.getId());
                     return existingNews;
                 }
             )
@@ -73,19 +134,116 @@ public class NewsService {
     @Transactional(readOnly = true)
     public Page<NewsDTO> findAll(Pageable pageable) {
         log.debug("Request to get all News");
-        return newsRepository.findAll(pageable).map(newsMapper::toDto);
+        return newsRepository.findAllProjectedBy(pageable);
+    }
+
+    /**
+     * Get a slice of the news, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<NewsDTO> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of News");
+        return newsRepository.findSliceProjectedBy(pageable);
+    }
+
+    /**
+     * Get the news after a cursor, without counting them.
+     *
+     * @param cursor the position to start after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<NewsDTO> findAll(KeysetCursor cursor, int size) {
+        log.debug("Request to get News after : {}", cursor);
+        return keysetRepository.findAll(News.class, NewsDTO.class, NewsRepository.LIST_PATHS, null, cursor, size);
+    }
+
+    /**
+     * Get the newss of the current user.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities, empty if no user is logged in.
+     */
+    @Transactional(readOnly = true)
+    public Page<NewsDTO> findAllOfCurrentUser(Pageable pageable) {
+        log.debug("Request to get the News of the current user");
+        return getCurrentUserId()
+            .map(
+                userId ->
+                    userListCache.get(
+                        NewsRepository.NEWS_BY_USER_CACHE,
+                        userId,
+                        "page:" + pageable,
+                        () -> newsRepository.findAllProjectedByUserId(userId, pageable)
+                    )
+            )
+            .orElseGet(() -> Page.empty(pageable));
+    }
+
+    /**
+     * Get the newss of the current user after a cursor, without counting them.
+     *
+     * @param cursor the position to start after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities, empty if no user is logged in.
+     */
+    @Transactional(readOnly = true)
+    public Slice<NewsDTO> findAllOfCurrentUser(KeysetCursor cursor, int size) {
+        log.debug("Request to get the News of the current user after : {}", cursor);
+        return getCurrentUserId()
+            .map(
+                userId ->
+                    userListCache.get(
+                        NewsRepository.NEWS_BY_USER_CACHE,
+                        userId,
+                        "after:" + cursor.encode() + ":" + size,
+                        () -> keysetRepository.findAll(News.class, NewsDTO.class, NewsRepository.LIST_PATHS, ownedBy(userId), cursor, size)
+                    )
+            )
+            .orElseGet(() -> new SliceImpl<>(List.of()));
+    }
+
+    /**
+     * Export all the news, in id order.
+     *
+     * @param consumer the consumer of each entity, called as the rows are read.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<NewsDTO> consumer) {
+        log.debug("Request to export all News");
+        try (Stream<NewsDTO> news = exportRepository.stream(NewsRepository.EXPORT_QUERY, NewsDTO.class)) {
+            news.forEach(consumer);
+        }
     }
 
     /**
      * Get one news by id.
+     * <p>
+     * Concurrent requests for the same news share a single load, see {@link SingleFlightLoader}.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<NewsDTO> findOne(Long id) {
         log.debug("Request to get News : {}", id);
-        return newsRepository.findById(id).map(newsMapper::toDto);
+        return singleFlightLoader.load(News.class, id, () -> newsRepository.findById(id).map(newsMapper::toDto));
+    }
+
+    /**
+     * Get the image metadata of one news by id.
+     *
+     * @param id the id of the entity.
+     * @return the image metadata, empty if the entity does not exist or has no image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageDTO> findImage(Long id) {
+        log.debug("Request to get the image of News : {}", id);
+        return newsRepository.findImageById(id).map(imageMapper::toDto);
     }
 
     /**
@@ -95,6 +253,30 @@ public class NewsService {
      */
     public void delete(Long id) {
         log.debug("Request to delete News : {}", id);
+        newsRepository.findUserIdById(id).ifPresent(this::evictUserCache);
         newsRepository.deleteById(id);
+        publishChange(id);
+    }
+
+    private Optional<Long> getCurrentUserId() {
+        return userService.getUserWithAuthorities().map(User::getId);
+    }
+
+    private static Specification<News> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    private void publishChange(Long id) {
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(News.class, id));
+    }
+
+    private void evictUserCache(User user) {
+        if (user != null) {
+            evictUserCache(user.getId());
+        }
+    }
+
+    private void evictUserCache(Long userId) {
+        userListCache.evict(NewsRepository.NEWS_BY_USER_CACHE, userId);
     }
 }
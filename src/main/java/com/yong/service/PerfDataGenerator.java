@@ -0,0 +1,399 @@
+package com.yong.service;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.config.Constants;
+import com.yong.domain.Authority;
+import com.yong.domain.Image;
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import com.yong.domain.Twitter;
+import com.yong.domain.User;
+import com.yong.repository.UserRepository;
+import com.yong.security.AuthoritiesConstants;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.imageio.ImageIO;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service generating a large synthetic dataset, to run benchmarks and load tests against production-like volumes.
+ * <p>
+ * The rows only depend on the seed and sizes of {@link ApplicationProperties.PerfData}: the same dataset is generated
+ * on every machine, H2 or MySQL. Users are named {@code perf-user-<n>}, with the password {@value #PASSWORD}. Tweets
+ * are spread over the movies following a power law, and the movies and news share a pool of PNG images of log-normally
+ * distributed sizes.
+ * <p>
+ * Rows are written by chunks of {@code application.batch.chunk-size} per transaction, in JDBC batches. A dataset whose
+ * generation was interrupted, found by counting the rows owned by the generated users, is deleted and generated again. An
+ * {@link EntityChangedEvent} is published once the movies, news and tweets are written, dropping the cached lists.
+ */
+@Service
+public class PerfDataGenerator {
+
+    public static final String LOGIN_PREFIX = "perf-user-";
+
+    public static final String PASSWORD = "perf";
+
+    private static final String LOGIN_PATTERN = LOGIN_PREFIX + "%";
+
+    private static final String PERF_USER_IDS = "select u.id from User u where u.login like :logins";
+
+    private static final String PERF_MOVIE_IDS = "select m.id from Movie m where m.user.id in (" + PERF_USER_IDS + ")";
+
+    private static final Instant LATEST_DATE = Instant.parse("2021-06-01T00:00:00Z");
+
+    private static final long DATE_RANGE_SECONDS = Duration.ofDays(5 * 365).getSeconds();
+
+    private static final String[] WORDS = {
+        "action",
+        "adventure",
+        "award",
+        "blockbuster",
+        "box",
+        "camera",
+        "cast",
+        "cinema",
+        "classic",
+        "comedy",
+        "crew",
+        "critic",
+        "cut",
+        "director",
+        "drama",
+        "epic",
+        "festival",
+        "film",
+        "final",
+        "hero",
+        "horror",
+        "indie",
+        "legend",
+        "love",
+        "midnight",
+        "mystery",
+        "night",
+        "office",
+        "premiere",
+        "rating",
+        "release",
+        "remake",
+        "review",
+        "scene",
+        "screen",
+        "script",
+        "sequel",
+        "series",
+        "shadow",
+        "sound",
+        "star",
+        "story",
+        "studio",
+        "summer",
+        "thriller",
+        "ticket",
+        "trailer",
+        "twist",
+        "villain",
+        "war",
+    };
+
+    private final Logger log = LoggerFactory.getLogger(PerfDataGenerator.class);
+
+    private final UserRepository userRepository;
+
+    private final ImageService imageService;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final int chunkSize;
+
+    private final int jdbcBatchSize;
+
+    public PerfDataGenerator(
+        UserRepository userRepository,
+        ImageService imageService,
+        PasswordEncoder passwordEncoder,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        ApplicationEventPublisher applicationEventPublisher,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int jdbcBatchSize
+    ) {
+        this.userRepository = userRepository;
+        this.imageService = imageService;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.chunkSize = applicationProperties.getBatch().getChunkSize();
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Generate the dataset, unless it was already generated.
+     *
+     * @param perfData the seed and sizes of the dataset.
+     * @return {@code true} if the dataset was generated, {@code false} if it already existed.
+     */
+    public boolean generate(ApplicationProperties.PerfData perfData) {
+        if (userRepository.findOneByLogin(LOGIN_PREFIX + 1).isPresent()) {
+            if (isComplete(perfData)) {
+                log.info("Performance dataset already generated");
+                return false;
+            }
+            log.warn("Performance dataset incomplete, its generation was interrupted: generating it again");
+            delete();
+        }
+        log.info(
+            "Generating the performance dataset: {} users, {} movies, {} news, {} tweets",
+            perfData.getUsers(),
+            perfData.getMovies(),
+            perfData.getNews(),
+            perfData.getTweets()
+        );
+        Random random = new Random(perfData.getSeed());
+        long[] imageIds = generateImages(perfData, random);
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        long[] userIds = insert("users", perfData.getUsers(), true, n -> newUser(n, passwordHash));
+        long[] movieIds = insert("movies", perfData.getMovies(), true, n -> newMovie(n, random, perfData, userIds, imageIds));
+        insert("news", perfData.getNews(), false, n -> newNews(n, random, perfData, userIds, imageIds));
+        // The most tweeted movies are scattered over the table rather than being the first ones
+        long[] moviesByPopularity = shuffle(movieIds, random);
+        insert("tweets", perfData.getTweets(), false, n -> newTweet(random, perfData, moviesByPopularity));
+        for (Class<?> entityType : List.of(Movie.class, News.class, Twitter.class)) {
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(entityType, null));
+        }
+        log.info("Generated the performance dataset");
+        return true;
+    }
+
+    private long[] generateImages(ApplicationProperties.PerfData perfData, Random random) {
+        long[] imageIds = new long[perfData.getImages()];
+        for (int i = 0; i < imageIds.length; i++) {
+            byte[] png = newPng(random, perfData.getImageMedianSize());
+            imageIds[i] = transactionTemplate.execute(status -> imageService.store(png, "image/png").getId());
+        }
+        log.info("Generated {} images", imageIds.length);
+        return imageIds;
+    }
+
+    /**
+     * Check that all the rows of the dataset were written, the tweets being identified by the owners of their movies.
+     */
+    private boolean isComplete(ApplicationProperties.PerfData perfData) {
+        long users = count("select count(u) from User u where u.login like :logins");
+        long movies = count("select count(m) from Movie m where m.user.id in (" + PERF_USER_IDS + ")");
+        long news = count("select count(n) from News n where n.user.id in (" + PERF_USER_IDS + ")");
+        long tweets = count("select count(t) from Twitter t where t.movie.id in (" + PERF_MOVIE_IDS + ")");
+        log.debug("Performance dataset: {} users, {} movies, {} news, {} tweets", users, movies, news, tweets);
+        return (
+            users == perfData.getUsers() &&
+            movies == perfData.getMovies() &&
+            news == perfData.getNews() &&
+            (perfData.getMovies() == 0 || tweets == perfData.getTweets())
+        );
+    }
+
+    private long count(String query) {
+        return entityManager.createQuery(query, Long.class).setParameter("logins", LOGIN_PATTERN).getSingleResult();
+    }
+
+    /**
+     * Delete the generated users, with their movies, news and tweets. The images are kept, to be reused.
+     */
+    private void delete() {
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                delete("delete from Twitter t where t.movie.id in (" + PERF_MOVIE_IDS + ")");
+                delete("delete from Movie m where m.user.id in (" + PERF_USER_IDS + ")");
+                delete("delete from News n where n.user.id in (" + PERF_USER_IDS + ")");
+                delete("delete from PersistentToken t where t.user.id in (" + PERF_USER_IDS + ")");
+                entityManager
+                    .createNativeQuery("delete from jhi_user_authority where user_id in (select id from jhi_user where login like ?1)")
+                    .setParameter(1, LOGIN_PATTERN)
+                    .executeUpdate();
+                delete("delete from User u where u.login like :logins");
+            }
+        );
+    }
+
+    private void delete(String query) {
+        entityManager.createQuery(query).setParameter("logins", LOGIN_PATTERN).executeUpdate();
+    }
+
+    /**
+     * Insert entities by chunks, one transaction each.
+     *
+     * @param table the name of the entities, for logging.
+     * @param count the number of entities.
+     * @param keepIds whether the ids of the entities are returned.
+     * @param factory the factory of the entities, from their number, starting at 1.
+     * @return the ids of the entities, in insertion order, or {@code null} if not kept.
+     */
+    private long[] insert(String table, int count, boolean keepIds, IntFunction<Object> factory) {
+        long[] ids = keepIds ? new long[count] : null;
+        long start = System.nanoTime();
+        for (int first = 0; first < count; first += chunkSize) {
+            int from = first;
+            int to = Math.min(count, first + chunkSize);
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                    for (int i = from; i < to; i++) {
+                        Object entity = factory.apply(i + 1);
+                        entityManager.persist(entity);
+                        if (ids != null) {
+                            ids[i] = (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+                        }
+                        if ((i + 1) % jdbcBatchSize == 0) {
+                            entityManager.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            );
+            log.debug("Inserted {} of {} {}", to, count, table);
+        }
+        long rowsPerSecond = count * TimeUnit.SECONDS.toNanos(1) / Math.max(1, System.nanoTime() - start);
+        log.info("Generated {} {}, {} rows/s", count, table, rowsPerSecond);
+        return ids;
+    }
+
+    private User newUser(int n, String passwordHash) {
+        User user = new User();
+        user.setLogin(LOGIN_PREFIX + n);
+        user.setPassword(passwordHash);
+        user.setFirstName("Perf");
+        user.setLastName("User " + n);
+        user.setEmail(LOGIN_PREFIX + n + "@localhost");
+        user.setActivated(true);
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setAuthorities(new HashSet<>(Set.of(entityManager.getReference(Authority.class, AuthoritiesConstants.USER))));
+        return user;
+    }
+
+    private Movie newMovie(int n, Random random, ApplicationProperties.PerfData perfData, long[] userIds, long[] imageIds) {
+        return new Movie()
+            .name(capitalize(words(random, 1, 4)) + " " + n)
+            .director(capitalize(words(random, 2, 2)))
+            .synopsis(capitalize(words(random, 10, 35)))
+            .comment(random.nextInt(4) == 0 ? capitalize(words(random, 3, 15)) : null)
+            .startDate(randomDate(random))
+            .image(randomImage(random, perfData, imageIds))
+            .user(randomUser(random, userIds));
+    }
+
+    private News newNews(int n, Random random, ApplicationProperties.PerfData perfData, long[] userIds, long[] imageIds) {
+        return new News()
+            .headerline(capitalize(words(random, 4, 12)))
+            .url("https://news.example.com/" + n)
+            .pubDate(randomDate(random))
+            .image(randomImage(random, perfData, imageIds))
+            .user(randomUser(random, userIds));
+    }
+
+    private Twitter newTweet(Random random, ApplicationProperties.PerfData perfData, long[] moviesByPopularity) {
+        Twitter tweet = new Twitter()
+            .content(words(random, 3, 25))
+            .pubDate(randomDate(random))
+            .publisher("@" + WORDS[random.nextInt(WORDS.length)] + random.nextInt(10_000));
+        if (moviesByPopularity.length > 0) {
+            // Power law: the rank of the movie is the length times a uniform number raised to the skew
+            int rank = (int) (moviesByPopularity.length * Math.pow(random.nextDouble(), perfData.getTweetSkew()));
+            tweet.movie(entityManager.getReference(Movie.class, moviesByPopularity[rank]));
+        }
+        return tweet;
+    }
+
+    private Image randomImage(Random random, ApplicationProperties.PerfData perfData, long[] imageIds) {
+        if (imageIds.length == 0 || random.nextDouble() >= perfData.getImageRatio()) {
+            return null;
+        }
+        return entityManager.getReference(Image.class, imageIds[random.nextInt(imageIds.length)]);
+    }
+
+    private User randomUser(Random random, long[] userIds) {
+        if (userIds.length == 0) {
+            return null;
+        }
+        return entityManager.getReference(User.class, userIds[random.nextInt(userIds.length)]);
+    }
+
+    private static Instant randomDate(Random random) {
+        return LATEST_DATE.minusSeconds((long) (random.nextDouble() * DATE_RANGE_SECONDS));
+    }
+
+    private static String words(Random random, int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static long[] shuffle(long[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Generate a PNG of random pixels, which do not compress, so that its size is about the one drawn.
+     */
+    private static byte[] newPng(Random random, int medianSize) {
+        double size = medianSize * Math.exp(0.75 * random.nextGaussian());
+        size = Math.max(medianSize / 10d, Math.min(medianSize * 10d, size));
+        int width = (int) Math.max(8, Math.sqrt(size / 3 * 4 / 3));
+        int height = Math.max(8, width * 3 / 4);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
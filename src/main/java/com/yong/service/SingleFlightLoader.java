@@ -0,0 +1,141 @@
+package com.yong.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loader of entities by id, running a single load at a time per entity: the requests for an entity being loaded wait
+ * for that load and share its result, instead of all reading the same rows after it was evicted or updated.
+ * <p>
+ * The first request loads the entity in its own read-only transaction, so that the waiting ones do not hold a
+ * connection. A request already in a transaction loads the entity by itself, as it may see its own changes. Once an
+ * {@link EntityChangedEvent} has been committed, the requests for the entity start a new load instead of joining one
+ * started before the change.
+ * <p>
+ * The requests are published as the {@code single.flight.requests} metric, tagged by entity and result, {@code loaded}
+ * or {@code coalesced}.
+ */
+@Component
+public class SingleFlightLoader {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Counter> loaded = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Counter> coalesced = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightLoader(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Load an entity, or wait for the load of the same entity running in another thread.
+     *
+     * @param entityType the type of the entity.
+     * @param id the id of the entity.
+     * @param loader the loader of the entity, run in a read-only transaction.
+     * @param <T> the type of the result.
+     * @return the result of the loader.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Class<?> entityType, Long id, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        Key key = new Key(entityType, id);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            counter(coalesced, entityType, "coalesced").increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        counter(loaded, entityType, "loaded").increment();
+        try {
+            T result = transactionTemplate.execute(status -> loader.get());
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Let the next requests for the changed entity start a new load.
+     *
+     * @param event the change, which has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        inFlight
+            .keySet()
+            .removeIf(
+                key -> key.entityType.equals(event.getEntityType()) && (event.getEntityId() == null || event.getEntityId().equals(key.id))
+            );
+    }
+
+    private Counter counter(Map<Class<?>, Counter> counters, Class<?> entityType, String result) {
+        return counters.computeIfAbsent(
+            entityType,
+            type ->
+                Counter
+                    .builder("single.flight.requests")
+                    .description("Requests loading an entity by id, or waiting for the load of another request")
+                    .tag("entity", type.getSimpleName())
+                    .tag("result", result)
+                    .register(meterRegistry)
+        );
+    }
+
+    private static final class Key {
+
+        private final Class<?> entityType;
+
+        private final Long id;
+
+        Key(Class<?> entityType, Long id) {
+            this.entityType = entityType;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return entityType.equals(other.entityType) && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, id);
+        }
+    }
+}
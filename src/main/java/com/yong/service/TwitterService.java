@@ -1,16 +1,41 @@
 package com.yong.service;
 
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.Movie;
 import com.yong.domain.Twitter;
+import com.yong.repository.KeysetCursor;
+import com.yong.repository.ExportRepository;
+import com.yong.repository.KeysetRepository;
+import com.yong.repository.MovieRepository;
 import com.yong.repository.TwitterRepository;
+import com.yong.service.dto.BatchResultDTO;
 import com.yong.service.dto.TwitterDTO;
 import com.yong.service.mapper.TwitterMapper;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link Twitter}.
@@ -25,9 +50,52 @@ public class TwitterService {
 
     private final TwitterMapper twitterMapper;
 
-    public TwitterService(TwitterRepository twitterRepository, TwitterMapper twitterMapper) {
+    private final KeysetRepository keysetRepository;
+
+    private final ExportRepository exportRepository;
+
+    private final MovieRepository movieRepository;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final SingleFlightLoader singleFlightLoader;
+
+    private final int chunkSize;
+
+    private final int jdbcBatchSize;
+
+    public TwitterService(
+        TwitterRepository twitterRepository,
+        TwitterMapper twitterMapper,
+        KeysetRepository keysetRepository,
+        ExportRepository exportRepository,
+        MovieRepository movieRepository,
+        EntityManager entityManager,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        ApplicationEventPublisher applicationEventPublisher,
+        SingleFlightLoader singleFlightLoader,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int jdbcBatchSize
+    ) {
         this.twitterRepository = twitterRepository;
         this.twitterMapper = twitterMapper;
+        this.keysetRepository = keysetRepository;
+        this.exportRepository = exportRepository;
+        this.movieRepository = movieRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.singleFlightLoader = singleFlightLoader;
+        this.chunkSize = applicationProperties.getBatch().getChunkSize();
+        this.jdbcBatchSize = jdbcBatchSize;
     }
 
     /**
@@ -40,9 +108,115 @@ public class TwitterService {
         log.debug("Request to save Twitter : {}", twitterDTO);
         Twitter twitter = twitterMapper.toEntity(twitterDTO);
         twitter = twitterRepository.save(twitter);
+        publishChange(twitter.getId());
         return twitterMapper.toDto(twitter);
     }
 
+    /**
+     * Save a stream of new twitters.
+     * <p>
+     * The twitters are validated as they are read, and written in JDBC batches, one transaction per chunk of
+     * twitters, the persistence context being cleared after each batch: memory stays flat whatever the number of
+     * twitters. Run in the transaction of the caller if there is one, otherwise the chunks already committed are kept
+     * if the stream turns out to be unreadable.
+     *
+     * @param twitterDTOs the twitters to create.
+     * @return the number of created twitters, and the rejected ones.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchResultDTO saveAll(Iterator<TwitterDTO> twitterDTOs) {
+        log.debug("Request to save a batch of Twitters");
+        BatchResultDTO result = new BatchResultDTO();
+        Map<Integer, TwitterDTO> chunk = new LinkedHashMap<>();
+        for (int index = 0;; index++) {
+            TwitterDTO twitterDTO;
+            try {
+                if (!twitterDTOs.hasNext()) {
+                    break;
+                }
+                twitterDTO = twitterDTOs.next();
+            } catch (RuntimeException e) {
+                // Unreadable input, nothing can be read past it
+                result.addError(index, "Unreadable twitter: " + e.getMessage());
+                break;
+            }
+            String error = validate(twitterDTO);
+            if (error != null) {
+                result.addError(index, error);
+            } else {
+                chunk.put(index, twitterDTO);
+            }
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        saveChunk(chunk, result);
+        log.debug("Saved a batch of Twitters : {}", result);
+        return result;
+    }
+
+    private String validate(TwitterDTO twitterDTO) {
+        if (twitterDTO == null) {
+            return "Missing twitter";
+        }
+        if (twitterDTO.getId() != null) {
+            return "A new twitter cannot already have an ID";
+        }
+        Set<ConstraintViolation<TwitterDTO>> violations = validator.validate(twitterDTO);
+        if (!violations.isEmpty()) {
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private void saveChunk(Map<Integer, TwitterDTO> chunk, BatchResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // One query checking the movies of the whole chunk, instead of a foreign key violation failing it
+        Set<Long> referencedMovieIds = chunk
+            .values()
+            .stream()
+            .filter(dto -> dto.getMovie() != null)
+            .map(dto -> dto.getMovie().getId())
+            .collect(Collectors.toSet());
+        Set<Long> movieIds = referencedMovieIds.isEmpty() ? Set.of() : movieRepository.findExistingIds(referencedMovieIds);
+        List<Twitter> twitters = new ArrayList<>(chunk.size());
+        chunk.forEach(
+            (index, twitterDTO) -> {
+                if (twitterDTO.getMovie() != null && !movieIds.contains(twitterDTO.getMovie().getId())) {
+                    result.addError(index, "Unknown movie: " + twitterDTO.getMovie().getId());
+                } else {
+                    twitters.add(twitterMapper.toEntity(twitterDTO));
+                }
+            }
+        );
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                for (int i = 0; i < twitters.size(); i++) {
+                    Twitter twitter = twitters.get(i);
+                    if (twitter.getMovie() != null) {
+                        twitter.setMovie(entityManager.getReference(Movie.class, twitter.getMovie().getId()));
+                    }
+                    entityManager.persist(twitter);
+                    if ((i + 1) % jdbcBatchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                publishChange(null);
+            }
+        );
+        result.addCreated(twitters.size());
+    }
+
     /**
      * Partially update a twitter.
      *
@@ -57,6 +231,7 @@ public class TwitterService {
             .map(
                 existingTwitter -> {
                     twitterMapper.partialUpdate(existingTwitter, twitterDTO);
+                    publishChange(existingTwitter.getId());
                     return existingTwitter;
                 }
             )
@@ -73,19 +248,59 @@ public class TwitterService {
     @Transactional(readOnly = true)
     public Page<TwitterDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Twitters");
-        return twitterRepository.findAll(pageable).map(twitterMapper::toDto);
+        return twitterRepository.findAllProjectedBy(pageable);
+    }
+
+    /**
+     * Get a slice of the twitters, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TwitterDTO> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Twitters");
+        return twitterRepository.findSliceProjectedBy(pageable);
+    }
+
+    /**
+     * Get the twitters after a cursor, without counting them.
+     *
+     * @param cursor the position to start after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TwitterDTO> findAll(KeysetCursor cursor, int size) {
+        log.debug("Request to get Twitters after : {}", cursor);
+        return keysetRepository.findAll(Twitter.class, TwitterDTO.class, TwitterRepository.LIST_PATHS, null, cursor, size);
+    }
+
+    /**
+     * Export all the twitters, in id order.
+     *
+     * @param consumer the consumer of each entity, called as the rows are read.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<TwitterDTO> consumer) {
+        log.debug("Request to export all Twitters");
+        try (Stream<TwitterDTO> twitters = exportRepository.stream(TwitterRepository.EXPORT_QUERY, TwitterDTO.class)) {
+            twitters.forEach(consumer);
+        }
     }
 
     /**
      * Get one twitter by id.
+     * <p>
+     * Concurrent requests for the same twitter share a single load, see {@link SingleFlightLoader}.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<TwitterDTO> findOne(Long id) {
         log.debug("Request to get Twitter : {}", id);
-        return twitterRepository.findById(id).map(twitterMapper::toDto);
+        return singleFlightLoader.load(Twitter.class, id, () -> twitterRepository.findById(id).map(twitterMapper::toDto));
     }
 
     /**
@@ -96,5 +311,10 @@ public class TwitterService {
     public void delete(Long id) {
         log.debug("Request to delete Twitter : {}", id);
         twitterRepository.deleteById(id);
+        publishChange(id);
+    }
+
+    private void publishChange(Long id) {
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(Twitter.class, id));
     }
 }
@@ -0,0 +1,156 @@
+package com.yong.service;
+
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import com.yong.repository.MovieRepository;
+import com.yong.repository.NewsRepository;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the pages of entities owned by a user.
+ * <p>
+ * Entries are keyed by user id, each holding the pages of the user by query, so that all the pages of a user are
+ * evicted at once when one of their entities is saved or deleted. Eviction happens right away, for the current
+ * transaction, and again after commit, dropping the pages another transaction may have cached in between from the old
+ * rows. A page loaded while the pages of its user are evicted is not kept either, as the users have a generation
+ * incremented by the evictions; users sharing the same stripe of generations share their evictions too. A user keeps
+ * at most {@value #MAX_PAGES_PER_USER} pages, the oldest one being dropped for each new page once it is reached.
+ * <p>
+ * Changes of several entities at once, such as imports, evict the pages of all the users once committed.
+ */
+@Component
+public class UserListCache {
+
+    static final int MAX_PAGES_PER_USER = 50;
+
+    private static final int STRIPES = 64;
+
+    private static final Map<Class<?>, String> CACHE_NAMES = Map.of(
+        Movie.class,
+        MovieRepository.MOVIES_BY_USER_CACHE,
+        News.class,
+        NewsRepository.NEWS_BY_USER_CACHE
+    );
+
+    private final Logger log = LoggerFactory.getLogger(UserListCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private final Object[] locks = new Object[STRIPES];
+
+    public UserListCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a page of a user from the cache, loading it on a miss.
+     *
+     * @param cacheName the name of the cache.
+     * @param userId the id of the user owning the entities.
+     * @param query the description of the page, with its position, size and sort order.
+     * @param loader the loader of the page.
+     * @param <T> the type of the page.
+     * @return the page.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Long userId, String query, Supplier<T> loader) {
+        Cache cache = getCache(cacheName);
+        Map<String, Object> pages = cache.get(userId, Map.class);
+        if (pages != null && pages.containsKey(query)) {
+            return (T) pages.get(query);
+        }
+        int stripe = stripe(cacheName, userId);
+        long generation = generations.get(stripe);
+        T page = loader.get();
+        synchronized (locks[stripe]) {
+            // Read again, the pages of the user having changed during the load, and copied rather than changed in place,
+            // as the cache may keep the entries by value
+            Map<String, Object> current = cache.get(userId, Map.class);
+            Map<String, Object> updated = current != null ? new LinkedHashMap<>(current) : new LinkedHashMap<>();
+            Iterator<String> oldest = updated.keySet().iterator();
+            while (updated.size() >= MAX_PAGES_PER_USER && oldest.hasNext()) {
+                oldest.next();
+                oldest.remove();
+            }
+            updated.put(query, page);
+            cache.put(userId, updated);
+            if (generations.get(stripe) != generation) {
+                // Loaded from the rows of before an eviction
+                cache.evict(userId);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Evict all the pages of a user.
+     *
+     * @param cacheName the name of the cache.
+     * @param userId the id of the user, ignored if {@code null}.
+     */
+    public void evict(String cacheName, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evictNow(cacheName, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(cacheName, userId);
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Evict the pages of all the users after a change of several entities, whose owners are not known.
+     *
+     * @param event the change, which has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        String cacheName = CACHE_NAMES.get(event.getEntityType());
+        if (cacheName != null && event.getEntityId() == null) {
+            log.debug("Evicting the {} pages of all the Users after {}", cacheName, event);
+            for (int i = 0; i < STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            getCache(cacheName).clear();
+        }
+    }
+
+    private void evictNow(String cacheName, Long userId) {
+        log.debug("Evicting the {} pages of User : {}", cacheName, userId);
+        generations.incrementAndGet(stripe(cacheName, userId));
+        getCache(cacheName).evict(userId);
+    }
+
+    private static int stripe(String cacheName, Long userId) {
+        return Math.floorMod(Objects.hash(cacheName, userId), STRIPES);
+    }
+
+    private Cache getCache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+    }
+}
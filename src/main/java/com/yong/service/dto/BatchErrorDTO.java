@@ -0,0 +1,35 @@
+package com.yong.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for an element rejected from a batch write.
+ */
+public class BatchErrorDTO implements Serializable {
+
+    private final long index;
+
+    private final String message;
+
+    public BatchErrorDTO(long index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchErrorDTO{" +
+            "index=" + getIndex() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.yong.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO summarizing a batch write: how many entities were created, and why the others were rejected.
+ * <p>
+ * Only the first {@value #MAX_ERRORS} errors are listed, {@link #getRejected()} counting all of them. Results can be
+ * updated by several threads.
+ */
+public class BatchResultDTO implements Serializable {
+
+    public static final int MAX_ERRORS = 100;
+
+    private long created;
+
+    private long rejected;
+
+    private final List<BatchErrorDTO> errors = new ArrayList<>();
+
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    public synchronized void addCreated(int count) {
+        created += count;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public synchronized List<BatchErrorDTO> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    /**
+     * Reject an element of the batch.
+     *
+     * @param index the position of the element in the batch, zero-based for a JSON batch, the record number for a
+     * CSV file.
+     * @param message the reason of the rejection.
+     */
+    public synchronized void addError(long index, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new BatchErrorDTO(index, message));
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+            "created=" + getCreated() +
+            ", rejected=" + getRejected() +
+            "}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.yong.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.yong.domain.Image} entity.
+ * <p>
+ * Only carries the image metadata, the bytes are served separately.
+ */
+public class ImageDTO implements Serializable {
+
+    private Long id;
+
+    private String contentType;
+
+    private Long size;
+
+    private String sha256;
+
+    public ImageDTO() {}
+
+    public ImageDTO(Long id, String contentType, Long size, String sha256) {
+        this.id = id;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImageDTO)) {
+            return false;
+        }
+
+        ImageDTO imageDTO = (ImageDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, imageDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImageDTO{" +
+            "id=" + getId() +
+            ", contentType='" + getContentType() + "'" +
+            ", size=" + getSize() +
+            ", sha256='" + getSha256() + "'" +
+            "}";
+    }
+}
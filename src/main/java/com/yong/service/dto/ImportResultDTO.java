@@ -0,0 +1,35 @@
+package com.yong.service.dto;
+
+/**
+ * A DTO summarizing a CSV import: the created and rejected rows, and the import throughput.
+ */
+public class ImportResultDTO extends BatchResultDTO {
+
+    private long durationMillis;
+
+    public synchronized long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public synchronized void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return the number of rows created per second.
+     */
+    public synchronized long getRowsPerSecond() {
+        return durationMillis == 0 ? getCreated() : getCreated() * 1000 / durationMillis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+            "created=" + getCreated() +
+            ", rejected=" + getRejected() +
+            ", durationMillis=" + getDurationMillis() +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            "}";
+    }
+}
@@ -1,9 +1,9 @@
 package com.yong.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
-import javax.persistence.Lob;
 import javax.validation.constraints.*;
 
 /**
@@ -24,12 +24,49 @@ public class MovieDTO implements Serializable {
 
     private Instant startDate;
 
-    @Lob
-    private byte[] image;
+    private ImageDTO image;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private byte[] imageData;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String imageDataContentType;
 
-    private String imageContentType;
     private UserDTO user;
 
+    public MovieDTO() {}
+
+    /**
+     * Constructor used by the list projection queries of {@link com.yong.repository.MovieRepository}.
+     */
+    public MovieDTO(
+        Long id,
+        String name,
+        String director,
+        String synopsis,
+        String comment,
+        Instant startDate,
+        Long imageId,
+        String imageContentType,
+        Long imageSize,
+        String imageSha256,
+        Long userId,
+        String userLogin
+    ) {
+        this.id = id;
+        this.name = name;
+        this.director = director;
+        this.synopsis = synopsis;
+        this.comment = comment;
+        this.startDate = startDate;
+        if (imageId != null) {
+            this.image = new ImageDTO(imageId, imageContentType, imageSize, imageSha256);
+        }
+        if (userId != null) {
+            this.user = new UserDTO(userId, userLogin);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -78,20 +115,28 @@ public class MovieDTO implements Serializable {
         this.startDate = startDate;
     }
 
-    public byte[] getImage() {
+    public ImageDTO getImage() {
         return image;
     }
 
-    public void setImage(byte[] image) {
+    public void setImage(ImageDTO image) {
         this.image = image;
     }
 
-    public String getImageContentType() {
-        return imageContentType;
+    public byte[] getImageData() {
+        return imageData;
+    }
+
+    public void setImageData(byte[] imageData) {
+        this.imageData = imageData;
+    }
+
+    public String getImageDataContentType() {
+        return imageDataContentType;
     }
 
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
+    public void setImageDataContentType(String imageDataContentType) {
+        this.imageDataContentType = imageDataContentType;
     }
 
     public UserDTO getUser() {
@@ -133,7 +178,7 @@ public class MovieDTO implements Serializable {
             ", synopsis='" + getSynopsis() + "'" +
             ", comment='" + getComment() + "'" +
             ", startDate='" + getStartDate() + "'" +
-            ", image='" + getImage() + "'" +
+            ", image=" + getImage() +
             ", user=" + getUser() +
             "}";
     }
@@ -1,9 +1,9 @@
 package com.yong.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
-import javax.persistence.Lob;
 import javax.validation.constraints.*;
 
 /**
@@ -21,12 +21,45 @@ public class NewsDTO implements Serializable {
 
     private Instant pubDate;
 
-    @Lob
-    private byte[] image;
+    private ImageDTO image;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private byte[] imageData;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String imageDataContentType;
 
-    private String imageContentType;
     private UserDTO user;
 
+    public NewsDTO() {}
+
+    /**
+     * Constructor used by the list projection queries of {@link com.yong.repository.NewsRepository}.
+     */
+    public NewsDTO(
+        Long id,
+        String headerline,
+        String url,
+        Instant pubDate,
+        Long imageId,
+        String imageContentType,
+        Long imageSize,
+        String imageSha256,
+        Long userId,
+        String userLogin
+    ) {
+        this.id = id;
+        this.headerline = headerline;
+        this.url = url;
+        this.pubDate = pubDate;
+        if (imageId != null) {
+            this.image = new ImageDTO(imageId, imageContentType, imageSize, imageSha256);
+        }
+        if (userId != null) {
+            this.user = new UserDTO(userId, userLogin);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -59,20 +92,28 @@ public class NewsDTO implements Serializable {
         this.pubDate = pubDate;
     }
 
-    public byte[] getImage() {
+    public ImageDTO getImage() {
         return image;
     }
 
-    public void setImage(byte[] image) {
+    public void setImage(ImageDTO image) {
         this.image = image;
     }
 
-    public String getImageContentType() {
-        return imageContentType;
+    public byte[] getImageData() {
+        return imageData;
+    }
+
+    public void setImageData(byte[] imageData) {
+        this.imageData = imageData;
+    }
+
+    public String getImageDataContentType() {
+        return imageDataContentType;
     }
 
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
+    public void setImageDataContentType(String imageDataContentType) {
+        this.imageDataContentType = imageDataContentType;
     }
 
     public UserDTO getUser() {
@@ -112,7 +153,7 @@ public class NewsDTO implements Serializable {
             ", headerline='" + getHeaderline() + "'" +
             ", url='" + getUrl() + "'" +
             ", pubDate='" + getPubDate() + "'" +
-            ", image='" + getImage() + "'" +
+            ", image=" + getImage() +
             ", user=" + getUser() +
             "}";
     }
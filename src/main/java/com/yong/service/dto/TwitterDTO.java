@@ -21,6 +21,22 @@ public class TwitterDTO implements Serializable {
 
     private MovieDTO movie;
 
+    public TwitterDTO() {}
+
+    /**
+     * Constructor used by the list projection queries of {@link com.yong.repository.TwitterRepository}.
+     */
+    public TwitterDTO(Long id, String content, Instant pubDate, String publisher, Long movieId) {
+        this.id = id;
+        this.content = content;
+        this.pubDate = pubDate;
+        this.publisher = publisher;
+        if (movieId != null) {
+            this.movie = new MovieDTO();
+            this.movie.setId(movieId);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,11 @@
+package com.yong.service.mapper;
+
+import com.yong.domain.*;
+import com.yong.service.dto.ImageDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Image} and its DTO {@link ImageDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface ImageMapper extends EntityMapper<ImageDTO, Image> {}
@@ -7,11 +7,21 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Movie} and its DTO {@link MovieDTO}.
  */
-@Mapper(componentModel = "spring", uses = { UserMapper.class })
+@Mapper(componentModel = "spring", uses = { UserMapper.class, ImageMapper.class })
 public interface MovieMapper extends EntityMapper<MovieDTO, Movie> {
     @Mapping(target = "user", source = "user", qualifiedByName = "login")
+    @Mapping(target = "imageData", ignore = true)
+    @Mapping(target = "imageDataContentType", ignore = true)
     MovieDTO toDto(Movie s);
 
+    @Mapping(target = "image", ignore = true)
+    Movie toEntity(MovieDTO movieDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "image", ignore = true)
+    void partialUpdate(@MappingTarget Movie entity, MovieDTO dto);
+
     @Named("id")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
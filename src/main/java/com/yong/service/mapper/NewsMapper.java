@@ -7,8 +7,18 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link News} and its DTO {@link NewsDTO}.
  */
-@Mapper(componentModel = "spring", uses = { UserMapper.class })
+@Mapper(componentModel = "spring", uses = { UserMapper.class, ImageMapper.class })
 public interface NewsMapper extends EntityMapper<NewsDTO, News> {
     @Mapping(target = "user", source = "user", qualifiedByName = "login")
+    @Mapping(target = "imageData", ignore = true)
+    @Mapping(target = "imageDataContentType", ignore = true)
     NewsDTO toDto(News s);
+
+    @Mapping(target = "image", ignore = true)
+    News toEntity(NewsDTO newsDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "image", ignore = true)
+    void partialUpdate(@MappingTarget News entity, NewsDTO dto);
 }
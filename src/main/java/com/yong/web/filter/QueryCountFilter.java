@@ -0,0 +1,137 @@
+package com.yong.web.filter;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.config.jdbc.QueryCount;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter counting the SQL statements, rows read and JDBC time of each request.
+ * <p>
+ * The counts are published as the {@code http.server.requests.statements}, {@code http.server.requests.jdbc} and, when
+ * the data source counts the rows, {@code http.server.requests.rows} metrics, tagged like {@code http.server.requests},
+ * and optionally sent in the {@value #QUERY_COUNT_HEADER} response header. A request running more statements than its
+ * budget, or the same statement more times than the repeated statement budget, which is the mark of an N+1 select, is
+ * logged, or fails.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final ApplicationProperties.QueryCount properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(ApplicationProperties.QueryCount properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        QueryCount count = QueryCount.start();
+        try {
+            filterChain.doFilter(request, properties.isHeader() ? new QueryCountHeaderResponse(response, count) : response);
+        } finally {
+            QueryCount.stop();
+            if (properties.isHeader() && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(count.getStatements()));
+            }
+            record(request, count);
+        }
+        checkBudget(request, count);
+    }
+
+    private void record(HttpServletRequest request, QueryCount count) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", Objects.toString(uri, "UNKNOWN"));
+        DistributionSummary
+            .builder("http.server.requests.statements")
+            .description("SQL statements executed by the HTTP requests")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(count.getStatements());
+        if (properties.isJdbcProxy()) {
+            // Only counted by the data source
+            DistributionSummary
+                .builder("http.server.requests.rows")
+                .description("Rows read by the HTTP requests")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(count.getRows());
+        }
+        Timer
+            .builder("http.server.requests.jdbc")
+            .description("Time spent in JDBC by the HTTP requests")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(count.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryCount count) {
+        String overBudget = null;
+        Map.Entry<String, Integer> repeated = count.getMostRepeatedStatement();
+        if (properties.getStatementBudget() > 0 && count.getStatements() > properties.getStatementBudget()) {
+            overBudget = count.getStatements() + " statements, over the budget of " + properties.getStatementBudget();
+        } else if (
+            properties.getRepeatedStatementBudget() > 0 && repeated != null && repeated.getValue() > properties.getRepeatedStatementBudget()
+        ) {
+            overBudget =
+                "the same statement " +
+                repeated.getValue() +
+                " times, over the budget of " +
+                properties.getRepeatedStatementBudget() +
+                ", likely an N+1 select";
+        }
+        if (overBudget == null) {
+            return;
+        }
+        String message = request.getMethod() + " " + request.getRequestURI() + " ran " + overBudget + ": " + count;
+        if (repeated != null) {
+            message += ", most repeated statement (" + repeated.getValue() + " times): " + repeated.getKey();
+        }
+        if (properties.isFailOnBudgetExceeded()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Response adding the number of statements run so far to its headers when it gets committed, as they cannot be
+     * added afterwards.
+     */
+    private static final class QueryCountHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final QueryCount count;
+
+        QueryCountHeaderResponse(HttpServletResponse response, QueryCount count) {
+            super(response);
+            this.count = count;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            ((HttpServletResponse) getResponse()).setHeader(QUERY_COUNT_HEADER, String.valueOf(count.getStatements()));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.yong.web.filter;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.service.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Filter keeping the serialized first pages of entity lists, so that a hit only costs a map lookup and a byte copy.
+ * <p>
+ * The responses are kept by request URL, with their {@code Link} and {@code X-Total-Count} headers, for the first
+ * {@code application.response-cache.pages} pages of each sort order and page size; cursor pages are not kept. All the
+ * responses of a list are dropped when an {@link EntityChangedEvent} of one of the entity types it shows is published,
+ * once its transaction has committed. A response read before such a change is not kept, as each list has a generation
+ * incremented by the changes.
+ * <p>
+ * The lookups are published as the {@code http.response.cache.gets} metric, tagged by list and result.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String PAGE_PARAMETER = "page";
+
+    private static final String AFTER_PARAMETER = "after";
+
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final List<String> KEPT_HEADERS = List.of(HttpHeaders.LINK, TOTAL_COUNT_HEADER);
+
+    private final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final Map<String, CachedList> lists = new ConcurrentHashMap<>();
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(ApplicationProperties.ResponseCache properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Keep the first pages of a list.
+     *
+     * @param path the path of the list, such as {@code /api/movies}.
+     * @param entityTypes the types of the entities shown by the list, whose changes drop its pages.
+     */
+    public void addList(String path, Class<?>... entityTypes) {
+        lists.put(path, new CachedList(path, Set.of(entityTypes)));
+    }
+
+    /**
+     * Drop the pages of the lists showing the changed entity type.
+     *
+     * @param event the change, which has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        for (CachedList list : lists.values()) {
+            if (list.entityTypes.contains(event.getEntityType())) {
+                list.invalidate();
+                log.debug("Dropped the pages of {} after {}", list.path, event);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !lists.containsKey(urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CachedList list = lists.get(urlPathHelper.getPathWithinApplication(request));
+        if (!isCacheable(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = getKey(request);
+        CachedResponse cached = list.responses.get(key);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            list.hits.increment();
+            cached.writeTo(response);
+            return;
+        }
+        list.misses.increment();
+        long generation = list.generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpStatus.OK.value() && (cached != null || list.hasRoom())) {
+                CachedResponse fresh = new CachedResponse(wrapper, System.nanoTime() + properties.getTimeToLive().toNanos());
+                list.responses.put(key, fresh);
+                // Changed while it was read: it may be stale
+                if (list.generation.get() != generation) {
+                    list.responses.remove(key, fresh);
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean isCacheable(HttpServletRequest request) {
+        if (request.getParameter(AFTER_PARAMETER) != null || !acceptsJson(request)) {
+            return false;
+        }
+        String page = request.getParameter(PAGE_PARAMETER);
+        if (page == null) {
+            return true;
+        }
+        try {
+            int number = Integer.parseInt(page);
+            return number >= 0 && number < properties.getPages();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The full request URL, as the {@code Link} headers are built from it.
+     */
+    private static String getKey(HttpServletRequest request) {
+        StringBuffer url = request.getRequestURL();
+        if (request.getQueryString() != null) {
+            url.append('?').append(request.getQueryString());
+        }
+        return url.toString();
+    }
+
+    private final class CachedList {
+
+        private final String path;
+
+        private final Set<Class<?>> entityTypes;
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        CachedList(String path, Set<Class<?>> entityTypes) {
+            this.path = path;
+            this.entityTypes = entityTypes;
+            this.hits = counter(path, "hit");
+            this.misses = counter(path, "miss");
+        }
+
+        private Counter counter(String path, String result) {
+            return Counter
+                .builder("http.response.cache.gets")
+                .description("Lookups of the kept first pages of the entity lists")
+                .tag("list", path)
+                .tag("result", result)
+                .register(meterRegistry);
+        }
+
+        boolean hasRoom() {
+            if (responses.size() < properties.getMaxEntries()) {
+                return true;
+            }
+            long now = System.nanoTime();
+            responses.values().removeIf(response -> response.expiresAt - now <= 0);
+            return responses.size() < properties.getMaxEntries();
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            responses.clear();
+        }
+    }
+
+    private static final class CachedResponse {
+
+        private final byte[] body;
+
+        private final String contentType;
+
+        private final List<Map.Entry<String, String>> headers = new ArrayList<>();
+
+        private final long expiresAt;
+
+        CachedResponse(ContentCachingResponseWrapper response, long expiresAt) {
+            this.body = response.getContentAsByteArray();
+            this.contentType = response.getContentType();
+            for (String name : KEPT_HEADERS) {
+                for (String value : response.getHeaders(name)) {
+                    headers.add(Map.entry(name, value));
+                }
+            }
+            this.expiresAt = expiresAt;
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType);
+            for (Map.Entry<String, String> header : headers) {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
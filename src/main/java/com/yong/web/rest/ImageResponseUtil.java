@@ -0,0 +1,128 @@
+package com.yong.web.rest;
+
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.service.ImageService;
+import com.yong.service.dto.ImageDTO;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for streaming entity images.
+ * <p>
+ * The response carries a strong ETag built from the image SHA-256, so conditional requests are answered
+ * with {@code 304 (Not Modified)} without reading the content, and {@code Range} requests are served by
+ * Spring MVC from the streamed {@link Resource}. When the request asks for the current version of the image
+ * (the {@code v} parameter matches the hash), the response may be cached for a year by the browser;
+ * as it needs an authenticated user, shared caches must not keep it.
+ * <p>
+ * A rendition can be requested with the {@code size} parameter. Until it has been generated, the original
+ * image is served instead, without long-term caching.
+ * <p>
+ * When the image is stored on the filesystem and the servlet container supports it, full responses are handed
+ * over to the container's sendfile support, so the bytes go from the page cache to the socket without being
+ * copied through the heap.
+ */
+final class ImageResponseUtil {
+
+    static final String VERSION_PARAMETER = "v";
+
+    static final String SIZE_PARAMETER = "size";
+
+    private static final long VERSIONED_MAX_AGE_DAYS = 365;
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private ImageResponseUtil() {}
+
+    /**
+     * Wrap the image, if present, in a streaming response, or return a {@code 404 (Not Found)}.
+     *
+     * @param image the source image metadata.
+     * @param size the requested rendition, may be {@code null} for the original image.
+     * @param version the requested image version, may be {@code null}.
+     * @param imageService the service giving renditions and content.
+     * @param request the current request.
+     * @return the response.
+     */
+    static ResponseEntity<Resource> wrapOrNotFound(
+        Optional<ImageDTO> image,
+        ImageSize size,
+        String version,
+        ImageService imageService,
+        HttpServletRequest request
+    ) {
+        return image
+            .map(
+                source -> {
+                    boolean versioned = source.getSha256().equals(version);
+                    ImageDTO served = source;
+                    if (size != null) {
+                        Optional<ImageDTO> rendition = imageService.findRendition(source, size);
+                        if (rendition.isPresent()) {
+                            served = rendition.get();
+                        } else {
+                            versioned = false;
+                        }
+                    }
+                    Resource content = imageService.getContent(served);
+                    ResponseEntity.BodyBuilder response = ResponseEntity
+                        .ok()
+                        .contentType(MediaType.parseMediaType(served.getContentType()))
+                        .eTag("\"" + served.getSha256() + "\"")
+                        .cacheControl(
+                            versioned ? CacheControl.maxAge(VERSIONED_MAX_AGE_DAYS, TimeUnit.DAYS).cachePrivate() : CacheControl.noCache()
+                        );
+                    if (sendfile(request, content)) {
+                        return response.contentLength(served.getSize()).<Resource>build();
+                    }
+                    return response.body(content);
+                }
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Ask the container to send the file itself, for plain GET requests of a file-backed resource.
+     * <p>
+     * Conditional and range requests are left to Spring MVC, which answers them from the resource.
+     */
+    private static boolean sendfile(HttpServletRequest request, Resource content) {
+        if (
+            !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE)) ||
+            !HttpMethod.GET.matches(request.getMethod()) ||
+            request.getHeader(HttpHeaders.RANGE) != null ||
+            request.getHeader(HttpHeaders.IF_NONE_MATCH) != null ||
+            request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null ||
+            !content.isFile()
+        ) {
+            return false;
+        }
+        try {
+            File file = content.getFile();
+            if (!file.isFile()) {
+                return false;
+            }
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, file.length());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
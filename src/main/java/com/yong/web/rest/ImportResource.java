@@ -0,0 +1,75 @@
+package com.yong.web.rest;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.security.AuthoritiesConstants;
+import com.yong.service.CsvImportService;
+import com.yong.service.dto.ImportResultDTO;
+import com.yong.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import javax.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for importing movies, news and twitters in bulk.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class ImportResource {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final Logger log = LoggerFactory.getLogger(ImportResource.class);
+
+    private final CsvImportService csvImportService;
+
+    private final Semaphore importPermits;
+
+    public ImportResource(CsvImportService csvImportService, ApplicationProperties applicationProperties) {
+        this.csvImportService = csvImportService;
+        this.importPermits = new Semaphore(applicationProperties.getBatch().getMaxConcurrentRequests());
+    }
+
+    /**
+     * {@code POST  /admin/import/:table} : Import a CSV file in the format of the Liquibase fake data.
+     * <p>
+     * The body is read as the rows are written. The {@code id} column is ignored, and so is the {@code image} column,
+     * whose paths only make sense next to the file: images are imported with the {@code --import-csv} command line
+     * option.
+     *
+     * @param table the table to import into: {@code movie}, {@code news} or {@code twitter}.
+     * @param request the HTTP request, holding the CSV file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of created rows, the
+     * rejected ones and the throughput, or with status {@code 429 (Too Many Requests)} if too many imports are already
+     * running.
+     * @throws IOException if the body cannot be read, or has no header.
+     */
+    @PostMapping(value = "/import/{table}", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<ImportResultDTO> importCsv(@PathVariable String table, HttpServletRequest request) throws IOException {
+        log.debug("REST request to import a CSV file into : {}", table);
+        CsvImportService.Table importTable;
+        try {
+            importTable = CsvImportService.Table.fromName(table);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown table: " + table, "import", "tableinvalid");
+        }
+        if (!importPermits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(csvImportService.importCsv(importTable, reader, null));
+        } finally {
+            importPermits.release();
+        }
+    }
+}
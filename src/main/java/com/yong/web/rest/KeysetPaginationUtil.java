@@ -0,0 +1,107 @@
+package com.yong.web.rest;
+
+import com.yong.repository.KeysetCursor;
+import com.yong.web.rest.errors.BadRequestAlertException;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (cursor) pagination.
+ * <p>
+ * Keyset mode is selected with the {@code after} request parameter: empty for the first page, then set to the
+ * token found in the {@code next} link of the previous response. The list is sorted on a single property of the
+ * {@code sort} parameter, with the id as tie-breaker, and no total count is computed.
+ */
+final class KeysetPaginationUtil {
+
+    static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Get the cursor of the requested page.
+     *
+     * @param after the {@code after} parameter, empty for the first page.
+     * @param pageable the pagination information, giving the sort order of the first page.
+     * @param sortProperties the properties which can be used as keys, besides the id.
+     * @param entityName the entity name, for errors.
+     * @return the cursor.
+     * @throws BadRequestAlertException if the cursor or the sort order is not valid.
+     */
+    static KeysetCursor getCursor(String after, Pageable pageable, Set<String> sortProperties, String entityName) {
+        KeysetCursor cursor;
+        if (after.isEmpty()) {
+            List<Sort.Order> orders = pageable
+                .getSort()
+                .stream()
+                .filter(order -> !KeysetCursor.ID_PROPERTY.equals(order.getProperty()))
+                .collect(Collectors.toList());
+            if (orders.size() > 1) {
+                throw new BadRequestAlertException("Cursor pagination sorts on a single property", entityName, "sortinvalid");
+            }
+            Sort.Order order = orders.isEmpty()
+                ? pageable.getSort().getOrderFor(KeysetCursor.ID_PROPERTY)
+                : orders.get(0);
+            cursor = KeysetCursor.first(order == null ? Sort.Order.asc(KeysetCursor.ID_PROPERTY) : order);
+        } else {
+            try {
+                cursor = KeysetCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+            }
+        }
+        if (!KeysetCursor.ID_PROPERTY.equals(cursor.getProperty()) && !sortProperties.contains(cursor.getProperty())) {
+            throw new BadRequestAlertException("Cursor pagination cannot sort on " + cursor.getProperty(), entityName, "sortinvalid");
+        }
+        return cursor;
+    }
+
+    /**
+     * Generate the {@code Link} header of a keyset page, with the {@code next} and {@code first} cursors.
+     *
+     * @param uriBuilder the builder of the current request URL.
+     * @param slice the page content.
+     * @param cursor the cursor of the page.
+     * @param <T> the type of the page elements, having an {@code id} and the sort property.
+     * @return the headers.
+     */
+    static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, KeysetCursor cursor) {
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            BeanWrapper last = PropertyAccessorFactory.forBeanPropertyAccess(slice.getContent().get(slice.getNumberOfElements() - 1));
+            KeysetCursor next = KeysetCursor.after(
+                cursor.getProperty(),
+                cursor.getDirection(),
+                last.getPropertyValue(cursor.getProperty()),
+                (Long) last.getPropertyValue(KeysetCursor.ID_PROPERTY)
+            );
+            link.append(prepareLink(uriBuilder, next.encode(), slice.getSize(), "next")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, "", slice.getSize(), "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String after, int size, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam(AFTER_PARAMETER, after)
+            .replaceQueryParam("size", size)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
@@ -0,0 +1,59 @@
+package com.yong.web.rest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Writer of a newline-delimited JSON ({@code application/x-ndjson}) attachment, serializing each value straight to
+ * the response stream, so that nothing but the current value is held in memory.
+ */
+final class NdjsonWriter implements Closeable {
+
+    private final JsonGenerator generator;
+
+    /**
+     * Start the response.
+     *
+     * @param objectMapper the mapper serializing the values.
+     * @param response the HTTP response.
+     * @param filename the name of the attachment.
+     * @throws IOException if the response cannot be written.
+     */
+    NdjsonWriter(ObjectMapper objectMapper, HttpServletResponse response, String filename) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        // Values are separated by the line breaks written after each of them, instead of the default space
+        generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Write a value, on its own line.
+     *
+     * @param value the value.
+     * @throws UncheckedIOException if the response cannot be written, typically because the client went away.
+     */
+    void write(Object value) {
+        try {
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -1,23 +1,34 @@
 package com.yong.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.repository.KeysetCursor;
 import com.yong.repository.NewsRepository;
+import com.yong.service.ImageService;
 import com.yong.service.NewsService;
 import com.yong.service.dto.NewsDTO;
 import com.yong.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -36,6 +47,11 @@ public class NewsResource {
 
     private static final String ENTITY_NAME = "news";
 
+    /**
+     * Properties which can be used as cursor pagination keys, each backed by a {@code (property, id)} index.
+     */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("headerline", "pubDate");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +59,15 @@ public class NewsResource {
 
     private final NewsRepository newsRepository;
 
-    public NewsResource(NewsService newsService, NewsRepository newsRepository) {
+    private final ImageService imageService;
+
+    private final ObjectMapper objectMapper;
+
+    public NewsResource(NewsService newsService, NewsRepository newsRepository, ImageService imageService, ObjectMapper objectMapper) {
         this.newsService = newsService;
         this.newsRepository = newsRepository;
+        this.imageService = imageService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -142,16 +164,87 @@ public class NewsResource {
      * {@code GET  /news} : get all the news.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of news in body.
+     * @param after the cursor of the page, empty for the first page; when present, the list is paginated with cursors
+     * instead of page numbers.
+     * @param count whether to count the news; when {@code false}, the page is read as a slice, without
+     * {@code X-Total-Count} header, which is enough for infinite scrolling.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of news in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("/news")
-    public ResponseEntity<List<NewsDTO>> getAllNews(Pageable pageable) {
+    public ResponseEntity<List<NewsDTO>> getAllNews(
+        Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = SlicePaginationUtil.COUNT_PARAMETER, defaultValue = "true") boolean count
+    ) {
+        if (after != null) {
+            log.debug("REST request to get News after a cursor");
+            KeysetCursor cursor = KeysetPaginationUtil.getCursor(after, pageable, KEYSET_SORT_PROPERTIES, ENTITY_NAME);
+            Slice<NewsDTO> slice = newsService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                cursor
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            log.debug("REST request to get a slice of News");
+            Slice<NewsDTO> slice = newsService.findSlice(pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of News");
         Page<NewsDTO> page = newsService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /news/mine} : get the news of the current user.
+     *
+     * @param pageable the pagination information.
+     * @param after the cursor of the page, empty for the first page; when present, the list is paginated with cursors
+     * sorted by id instead of page numbers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of news in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/news/mine")
+    public ResponseEntity<List<NewsDTO>> getMyNews(
+        Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get the News of the current user after a cursor");
+            KeysetCursor cursor = KeysetPaginationUtil.getCursor(after, pageable, Set.of(), ENTITY_NAME);
+            Slice<NewsDTO> slice = newsService.findAllOfCurrentUser(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                cursor
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        log.debug("REST request to get a page of the News of the current user");
+        Page<NewsDTO> page = newsService.findAllOfCurrentUser(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /news/export} : export all the news, in id order.
+     *
+     * @param response the HTTP response, receiving one JSON news per line ({@code application/x-ndjson}).
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/news/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportNews(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export News");
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response, "news.ndjson")) {
+            newsService.exportAll(writer::write);
+        }
+    }
+
     /**
      * {@code GET  /news/:id} : get the "id" news.
      *
@@ -165,6 +258,29 @@ public class NewsResource {
         return ResponseUtil.wrapOrNotFound(newsDTO);
     }
 
+    /**
+     * {@code GET  /news/:id/image} : stream the image of the "id" news.
+     *
+     * @param id the id of the news whose image to retrieve.
+     * @param size the rendition to retrieve, or {@code null} for the original image.
+     * @param version the expected image hash; when it matches, the response may be cached for a long time.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the image bytes in body,
+     * or with status {@code 206 (Partial Content)} for a range request,
+     * or with status {@code 304 (Not Modified)} if the image matches {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/news/{id}/image")
+    public ResponseEntity<Resource> getNewsImage(
+        @PathVariable Long id,
+        @RequestParam(value = ImageResponseUtil.SIZE_PARAMETER, required = false) ImageSize size,
+        @RequestParam(value = ImageResponseUtil.VERSION_PARAMETER, required = false) String version,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get the image of News : {}", id);
+        return ImageResponseUtil.wrapOrNotFound(newsService.findImage(id), size, version, imageService, request);
+    }
+
     /**
      * {@code DELETE  /news/:id} : delete the "id" news.
      *
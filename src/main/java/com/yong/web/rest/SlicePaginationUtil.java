@@ -0,0 +1,56 @@
+package com.yong.web.rest;
+
+import java.text.MessageFormat;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for pagination without total count.
+ * <p>
+ * Slice mode is selected with {@code count=false}. The page is read with one extra row to know whether a next
+ * page exists, and the {@code Link} header has the same format as the one of
+ * {@link tech.jhipster.web.util.PaginationUtil}, without the {@code last} link and the {@code X-Total-Count} header.
+ */
+final class SlicePaginationUtil {
+
+    static final String COUNT_PARAMETER = "count";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the {@code Link} header of a slice.
+     *
+     * @param uriBuilder the builder of the current request URL.
+     * @param slice the slice.
+     * @param <T> the type of the slice elements.
+     * @return the headers.
+     */
+    static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", pageNumber)
+            .replaceQueryParam("size", pageSize)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
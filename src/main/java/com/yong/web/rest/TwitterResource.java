@@ -1,14 +1,24 @@
 package com.yong.web.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yong.config.ApplicationProperties;
+import com.yong.repository.KeysetCursor;
 import com.yong.repository.TwitterRepository;
 import com.yong.service.TwitterService;
+import com.yong.service.dto.BatchResultDTO;
 import com.yong.service.dto.TwitterDTO;
 import com.yong.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -16,8 +26,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -36,6 +48,11 @@ public class TwitterResource {
 
     private static final String ENTITY_NAME = "twitter";
 
+    /**
+     * Properties which can be used as cursor pagination keys, each backed by a {@code (property, id)} index.
+     */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("content", "pubDate", "publisher");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +60,20 @@ public class TwitterResource {
 
     private final TwitterRepository twitterRepository;
 
-    public TwitterResource(TwitterService twitterService, TwitterRepository twitterRepository) {
+    private final ObjectMapper objectMapper;
+
+    private final Semaphore batchPermits;
+
+    public TwitterResource(
+        TwitterService twitterService,
+        TwitterRepository twitterRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.twitterService = twitterService;
         this.twitterRepository = twitterRepository;
+        this.objectMapper = objectMapper;
+        this.batchPermits = new Semaphore(applicationProperties.getBatch().getMaxConcurrentRequests());
     }
 
     /**
@@ -68,6 +96,31 @@ public class TwitterResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /twitters/batch} : Create new twitters in bulk.
+     * <p>
+     * The body is either a JSON array of twitters, or a stream of newline-delimited JSON twitters
+     * ({@code application/x-ndjson}). It is read as the twitters are written, so the client is slowed down to the
+     * pace of the database rather than the request being buffered.
+     *
+     * @param request the HTTP request, holding the twitters to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of created twitters and
+     * the rejected ones, or with status {@code 429 (Too Many Requests)} if too many batches are already running.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/twitters/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BatchResultDTO> createTwitters(HttpServletRequest request) throws IOException {
+        log.debug("REST request to save a batch of Twitters");
+        if (!batchPermits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        try (MappingIterator<TwitterDTO> twitters = objectMapper.readerFor(TwitterDTO.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(twitterService.saveAll(twitters));
+        } finally {
+            batchPermits.release();
+        }
+    }
+
     /**
      * {@code PUT  /twitters/:id} : Updates an existing twitter.
      *
@@ -142,16 +195,56 @@ public class TwitterResource {
      * {@code GET  /twitters} : get all the twitters.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of twitters in body.
+     * @param after the cursor of the page, empty for the first page; when present, the list is paginated with cursors
+     * instead of page numbers.
+     * @param count whether to count the twitters; when {@code false}, the page is read as a slice, without
+     * {@code X-Total-Count} header, which is enough for infinite scrolling.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of twitters in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("/twitters")
-    public ResponseEntity<List<TwitterDTO>> getAllTwitters(Pageable pageable) {
+    public ResponseEntity<List<TwitterDTO>> getAllTwitters(
+        Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = SlicePaginationUtil.COUNT_PARAMETER, defaultValue = "true") boolean count
+    ) {
+        if (after != null) {
+            log.debug("REST request to get Twitters after a cursor");
+            KeysetCursor cursor = KeysetPaginationUtil.getCursor(after, pageable, KEYSET_SORT_PROPERTIES, ENTITY_NAME);
+            Slice<TwitterDTO> slice = twitterService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                cursor
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            log.debug("REST request to get a slice of Twitters");
+            Slice<TwitterDTO> slice = twitterService.findSlice(pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Twitters");
         Page<TwitterDTO> page = twitterService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /twitters/export} : export all the twitters, in id order.
+     *
+     * @param response the HTTP response, receiving one JSON twitter per line ({@code application/x-ndjson}).
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/twitters/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTwitters(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Twitters");
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response, "twitters.ndjson")) {
+            twitterService.exportAll(writer::write);
+        }
+    }
+
     /**
      * {@code GET  /twitters/:id} : get the "id" twitter.
      *
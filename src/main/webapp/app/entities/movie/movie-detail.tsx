@@ -2,7 +2,7 @@ import React, { useEffect } from 'react';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Row, Col } from 'reactstrap';
-import { Translate, openFile, byteSize, TextFormat } from 'react-jhipster';
+import { Translate, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -68,13 +68,11 @@ export const MovieDetail = (props: IMovieDetailProps) => {
           <dd>
             {movieEntity.image ? (
               <div>
-                {movieEntity.imageContentType ? (
-                  <a onClick={openFile(movieEntity.imageContentType, movieEntity.image)}>
-                    <img src={`data:${movieEntity.imageContentType};base64,${movieEntity.image}`} style={{ maxHeight: '30px' }} />
-                  </a>
-                ) : null}
+                <a href={`api/movies/${movieEntity.id}/image?v=${movieEntity.image.sha256}`} target="_blank" rel="noopener noreferrer">
+                  <img src={`api/movies/${movieEntity.id}/image?size=CARD&v=${movieEntity.image.sha256}`} style={{ maxHeight: '200px' }} />
+                </a>
                 <span>
-                  {movieEntity.imageContentType}, {byteSize(movieEntity.image)}
+                  {movieEntity.image.contentType}, {movieEntity.image.size} bytes
                 </span>
               </div>
             ) : null}
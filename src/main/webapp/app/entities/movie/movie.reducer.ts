@@ -130,7 +130,7 @@ const apiUrl = 'api/movies';
 // Actions
 
 export const getEntities: ICrudGetAllAction<IMovie> = (page, size, sort) => {
-  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}&count=false` : ''}`;
   return {
     type: ACTION_TYPES.FETCH_MOVIE_LIST,
     payload: axios.get<IMovie>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`),
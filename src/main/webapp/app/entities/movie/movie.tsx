@@ -118,6 +118,9 @@ export const Movie = (props: IMovieProps) => {
                   <th className="hand" onClick={sort('director')}>
                     <Translate contentKey="movieNewsApp.movie.director">Director</Translate> <FontAwesomeIcon icon="sort" />
                   </th>
+                  <th>
+                    <Translate contentKey="movieNewsApp.movie.image">Image</Translate>
+                  </th>
                   <th />
                 </tr>
               </thead>
@@ -131,6 +134,11 @@ export const Movie = (props: IMovieProps) => {
                     </td>
                     <td>{movie.name}</td>
                     <td>{movie.director}</td>
+                    <td>
+                      {movie.image ? (
+                        <img src={`api/movies/${movie.id}/image?size=LIST&v=${movie.image.sha256}`} style={{ maxHeight: '30px' }} />
+                      ) : null}
+                    </td>
                     <td className="text-right">
                       <div className="btn-group flex-btn-group-container">
                         <Button tag={Link} to={`${match.url}/${movie.id}`} color="info" size="sm" data-cy="entityDetailsButton">
@@ -2,7 +2,7 @@ import React, { useEffect } from 'react';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Row, Col } from 'reactstrap';
-import { Translate, openFile, byteSize, TextFormat } from 'react-jhipster';
+import { Translate, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
@@ -56,13 +56,11 @@ export const NewsDetail = (props: INewsDetailProps) => {
           <dd>
             {newsEntity.image ? (
               <div>
-                {newsEntity.imageContentType ? (
-                  <a onClick={openFile(newsEntity.imageContentType, newsEntity.image)}>
-                    <img src={`data:${newsEntity.imageContentType};base64,${newsEntity.image}`} style={{ maxHeight: '30px' }} />
-                  </a>
-                ) : null}
+                <a href={`api/news/${newsEntity.id}/image?v=${newsEntity.image.sha256}`} target="_blank" rel="noopener noreferrer">
+                  <img src={`api/news/${newsEntity.id}/image?size=CARD&v=${newsEntity.image.sha256}`} style={{ maxHeight: '200px' }} />
+                </a>
                 <span>
-                  {newsEntity.imageContentType}, {byteSize(newsEntity.image)}
+                  {newsEntity.image.contentType}, {newsEntity.image.size} bytes
                 </span>
               </div>
             ) : null}
@@ -21,7 +21,7 @@ export const NewsUpdate = (props: INewsUpdateProps) => {
 
   const { newsEntity, users, loading, updating } = props;
 
-  const { image, imageContentType } = newsEntity;
+  const { image, imageData, imageDataContentType } = newsEntity;
 
   const handleClose = () => {
     props.history.push('/news');
@@ -138,18 +138,33 @@ export const NewsUpdate = (props: INewsUpdateProps) => {
                     <Translate contentKey="movieNewsApp.news.image">Image</Translate>
                   </Label>
                   <br />
-                  {image ? (
+                  {imageData ? (
                     <div>
-                      {imageContentType ? (
-                        <a onClick={openFile(imageContentType, image)}>
-                          <img src={`data:${imageContentType};base64,${image}`} style={{ maxHeight: '100px' }} />
+                      {imageDataContentType ? (
+                        <a onClick={openFile(imageDataContentType, imageData)}>
+                          <img src={`data:${imageDataContentType};base64,${imageData}`} style={{ maxHeight: '100px' }} />
                         </a>
                       ) : null}
                       <br />
                       <Row>
                         <Col md="11">
                           <span>
-                            {imageContentType}, {byteSize(image)}
+                            {imageDataContentType}, {byteSize(imageData)}
+                          </span>
+                        </Col>
+                        <Col md="1">
+                          <Button color="danger" onClick={clearBlob('imageData')}>
+                            <FontAwesomeIcon icon="times-circle" />
+                          </Button>
+                        </Col>
+                      </Row>
+                    </div>
+                  ) : image ? (
+                    <div>
+                      <Row>
+                        <Col md="11">
+                          <span>
+                            {image.contentType}, {image.size} bytes
                           </span>
                         </Col>
                         <Col md="1">
@@ -160,8 +175,8 @@ export const NewsUpdate = (props: INewsUpdateProps) => {
                       </Row>
                     </div>
                   ) : null}
-                  <input id="file_image" data-cy="image" type="file" onChange={onBlobChange(true, 'image')} accept="image/*" />
-                  <AvInput type="hidden" name="image" value={image} />
+                  <input id="file_image" data-cy="image" type="file" onChange={onBlobChange(true, 'imageData')} accept="image/*" />
+                  <AvInput type="hidden" name="imageData" value={imageData} />
                 </AvGroup>
               </AvGroup>
               <AvGroup>
@@ -130,7 +130,7 @@ const apiUrl = 'api/news';
 // Actions
 
 export const getEntities: ICrudGetAllAction<INews> = (page, size, sort) => {
-  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}&count=false` : ''}`;
   return {
     type: ACTION_TYPES.FETCH_NEWS_LIST,
     payload: axios.get<INews>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`),
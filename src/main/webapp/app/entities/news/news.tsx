@@ -115,6 +115,9 @@ export const News = (props: INewsProps) => {
                   <th className="hand" onClick={sort('headerline')}>
                     <Translate contentKey="movieNewsApp.news.headerline">Headerline</Translate> <FontAwesomeIcon icon="sort" />
                   </th>
+                  <th>
+                    <Translate contentKey="movieNewsApp.news.image">Image</Translate>
+                  </th>
                   <th />
                 </tr>
               </thead>
@@ -127,6 +130,11 @@ export const News = (props: INewsProps) => {
                       </Button>
                     </td>
                     <td>{news.headerline}</td>
+                    <td>
+                      {news.image ? (
+                        <img src={`api/news/${news.id}/image?size=LIST&v=${news.image.sha256}`} style={{ maxHeight: '30px' }} />
+                      ) : null}
+                    </td>
                     <td className="text-right">
                       <div className="btn-group flex-btn-group-container">
                         <Button tag={Link} to={`${match.url}/${news.id}`} color="info" size="sm" data-cy="entityDetailsButton">
@@ -118,7 +118,7 @@ const apiUrl = 'api/twitters';
 // Actions
 
 export const getEntities: ICrudGetAllAction<ITwitter> = (page, size, sort) => {
-  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}&count=false` : ''}`;
   return {
     type: ACTION_TYPES.FETCH_TWITTER_LIST,
     payload: axios.get<ITwitter>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`),
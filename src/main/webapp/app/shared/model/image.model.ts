@@ -0,0 +1,6 @@
+export interface IImage {
+  id?: number;
+  contentType?: string;
+  size?: number;
+  sha256?: string;
+}
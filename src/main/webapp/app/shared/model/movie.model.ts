@@ -1,4 +1,5 @@
 import dayjs from 'dayjs';
+import { IImage } from 'app/shared/model/image.model';
 import { ITwitter } from 'app/shared/model/twitter.model';
 import { IUser } from 'app/shared/model/user.model';
 
@@ -9,8 +10,9 @@ export interface IMovie {
   synopsis?: string | null;
   comment?: string | null;
   startDate?: string | null;
-  imageContentType?: string | null;
-  image?: string | null;
+  image?: IImage | null;
+  imageDataContentType?: string | null;
+  imageData?: string | null;
   twitters?: ITwitter[] | null;
   user?: IUser | null;
 }
@@ -1,4 +1,5 @@
 import dayjs from 'dayjs';
+import { IImage } from 'app/shared/model/image.model';
 import { IUser } from 'app/shared/model/user.model';
 
 export interface INews {
@@ -6,8 +7,9 @@ export interface INews {
   headerline?: string;
   url?: string;
   pubDate?: string | null;
-  imageContentType?: string | null;
-  image?: string | null;
+  image?: IImage | null;
+  imageDataContentType?: string | null;
+  imageData?: string | null;
   user?: IUser | null;
 }
 
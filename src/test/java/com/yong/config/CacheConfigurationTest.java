@@ -0,0 +1,101 @@
+package com.yong.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.serializer.DefaultSerializerConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the cache regions of the {@link com.yong.config.CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private com.yong.config.CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    void init() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Cache.Region movie = new ApplicationProperties.Cache.Region();
+        movie.setHeapMb(16);
+        movie.setOffHeapMb(64);
+        movie.setDiskMb(512);
+        movie.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put("Movie", movie);
+
+        ApplicationProperties.Cache.Region usersByLogin = new ApplicationProperties.Cache.Region();
+        usersByLogin.setHeapEntries(10);
+        usersByLogin.setTimeToLive(Duration.ofMinutes(30));
+        applicationProperties.getCache().getRegions().put("usersByLogin", usersByLogin);
+
+        cacheConfiguration = new com.yong.config.CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void configuresTheTiersOfAnEntityRegionByShortName() {
+        CacheConfiguration<Object, Object> configuration = configurationOf("com.yong.domain.Movie");
+
+        ResourcePools pools = configuration.getResourcePools();
+        assertPool(pools.getPoolForResource(ResourceType.Core.HEAP), 16, MemoryUnit.MB);
+        assertPool(pools.getPoolForResource(ResourceType.Core.OFFHEAP), 64, MemoryUnit.MB);
+        assertPool(pools.getPoolForResource(ResourceType.Core.DISK), 512, MemoryUnit.MB);
+        assertThat(pools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+        assertThat(configuration.getServiceConfigurations()).hasAtLeastOneElementOfType(DefaultSerializerConfiguration.class);
+
+        ExpiryPolicy<? super Object, ? super Object> expiry = configuration.getExpiryPolicy();
+        assertThat(expiry.getExpiryForCreation("key", "value")).isEqualTo(Duration.ofHours(1));
+        assertThat(expiry.getExpiryForAccess("key", () -> "value")).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void configuresTheHeapOfARegionByCacheName() {
+        CacheConfiguration<Object, Object> configuration = configurationOf("usersByLogin");
+
+        ResourcePools pools = configuration.getResourcePools();
+        assertPool(pools.getPoolForResource(ResourceType.Core.HEAP), 10, EntryUnit.ENTRIES);
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+        assertThat(pools.getPoolForResource(ResourceType.Core.DISK)).isNull();
+        assertThat(configuration.getServiceConfigurations()).noneMatch(DefaultSerializerConfiguration.class::isInstance);
+
+        ExpiryPolicy<? super Object, ? super Object> expiry = configuration.getExpiryPolicy();
+        assertThat(expiry.getExpiryForCreation("key", "value")).isEqualTo(Duration.ofMinutes(30));
+        assertThat(expiry.getExpiryForAccess("key", () -> "value")).isNull();
+    }
+
+    @Test
+    void keepsTheDefaultsForAnUnlistedRegion() {
+        CacheConfiguration<Object, Object> configuration = configurationOf("com.yong.domain.Twitter");
+
+        ResourcePools pools = configuration.getResourcePools();
+        assertPool(pools.getPoolForResource(ResourceType.Core.HEAP), 100, EntryUnit.ENTRIES);
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation("key", "value")).isEqualTo(Duration.ofHours(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheConfiguration<Object, Object> configurationOf(String cacheName) {
+        return ((Eh107Configuration<Object, Object>) cacheConfiguration.configurationOf(cacheName)).unwrap(CacheConfiguration.class);
+    }
+
+    private static void assertPool(SizedResourcePool pool, long size, Object unit) {
+        assertThat(pool).isNotNull();
+        assertThat(pool.getSize()).isEqualTo(size);
+        assertThat(pool.getUnit()).isEqualTo(unit);
+    }
+}
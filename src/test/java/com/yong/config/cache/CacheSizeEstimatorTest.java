@@ -0,0 +1,88 @@
+package com.yong.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CacheSizeEstimator}.
+ */
+class CacheSizeEstimatorTest {
+
+    private static final String HEAP_CACHE = "heap";
+
+    private static final String OFF_HEAP_CACHE = "offHeap";
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    private CacheSizeEstimator cacheSizeEstimator;
+
+    @BeforeEach
+    void init() {
+        ClassLoader classLoader = CacheSizeEstimatorTest.class.getClassLoader();
+        cacheManager =
+            Caching
+                .getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:cache-size-estimator-test"), classLoader);
+        cacheManager.createCache(
+            HEAP_CACHE,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100))
+            )
+        );
+        cacheManager.createCache(
+            OFF_HEAP_CACHE,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100).offheap(1, MemoryUnit.MB))
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader))
+            )
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        cacheSizeEstimator = new CacheSizeEstimator(cacheManager, meterRegistry);
+    }
+
+    @AfterEach
+    void cleanup() {
+        cacheManager.close();
+    }
+
+    @Test
+    void measuresTheRegionsKeptOnHeap() {
+        cacheManager.getCache(HEAP_CACHE).put("key", "value");
+        cacheManager.getCache(HEAP_CACHE).put("other key", "other value");
+
+        cacheSizeEstimator.refresh();
+
+        CacheSizeEstimator.Size size = cacheSizeEstimator.getSizes().get(HEAP_CACHE);
+        assertThat(size.getEntries()).isEqualTo(2);
+        assertThat(size.getEstimatedBytes()).isPositive();
+        assertThat(meterRegistry.get("cache.entries").tag("cache", HEAP_CACHE).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotGoThroughTheRegionsWithOffHeapTiers() {
+        cacheManager.getCache(OFF_HEAP_CACHE).put("key", "value");
+
+        cacheSizeEstimator.refresh();
+
+        assertThat(cacheSizeEstimator.getSizes().get(OFF_HEAP_CACHE)).isSameAs(CacheSizeEstimator.Size.NOT_MEASURED);
+        assertThat(meterRegistry.find("cache.entries").tag("cache", OFF_HEAP_CACHE).gauge()).isNull();
+    }
+}
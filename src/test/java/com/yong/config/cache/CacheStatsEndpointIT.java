@@ -0,0 +1,59 @@
+package com.yong.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.repository.UserRepository;
+import java.util.Map;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link CacheStatsEndpoint}.
+ */
+@IntegrationTest
+class CacheStatsEndpointIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheSizeEstimator cacheSizeEstimator;
+
+    @Autowired
+    private CacheStatsEndpoint cacheStatsEndpoint;
+
+    @AfterEach
+    public void cleanup() {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givesTheStatisticsOfEachRegion() {
+        Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Map<String, Object> before = regionStats(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put("cache-stats", "user");
+        cache.put("cache-stats-too", "user");
+        cache.get("cache-stats");
+        cache.get("cache-stats-missing");
+
+        cacheSizeEstimator.refresh();
+        Map<String, Object> stats = regionStats(UserRepository.USERS_BY_LOGIN_CACHE);
+
+        assertThat((long) stats.get("hits") - (long) before.get("hits")).isEqualTo(1);
+        assertThat((long) stats.get("misses") - (long) before.get("misses")).isEqualTo(1);
+        assertThat((long) stats.get("puts") - (long) before.get("puts")).isEqualTo(2);
+        assertThat(stats.get("entries")).isEqualTo(2L);
+        assertThat((long) stats.get("estimatedBytes")).isPositive();
+        assertThat((Map<String, Object>) cacheStatsEndpoint.cacheStats().get("regions")).containsKey(com.yong.domain.Movie.class.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> regionStats(String cacheName) {
+        return (Map<String, Object>) ((Map<String, Object>) cacheStatsEndpoint.cacheStats().get("regions")).get(cacheName);
+    }
+}
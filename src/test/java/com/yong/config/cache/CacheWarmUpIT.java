@@ -0,0 +1,65 @@
+package com.yong.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.domain.Movie;
+import com.yong.repository.MovieRepository;
+import com.yong.repository.UserRepository;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Integration tests for {@link CacheWarmUp}.
+ */
+@IntegrationTest
+class CacheWarmUpIT {
+
+    @Autowired
+    private CacheWarmUp cacheWarmUp;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Movie movie;
+
+    @BeforeEach
+    public void init() {
+        // Committed, as the warm-up queries run in their own transactions
+        movie = movieRepository.saveAndFlush(new Movie().name("warm-up"));
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        movieRepository.deleteById(movie.getId());
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @Test
+    void loadsTheNewestEntitiesAndUsers() throws Exception {
+        assertThat(entityManagerFactory.getCache().contains(Movie.class, movie.getId())).isFalse();
+
+        assertThat(cacheWarmUp.warmUp()).isPositive();
+
+        assertThat(entityManagerFactory.getCache().contains(Movie.class, movie.getId())).isTrue();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).containsKey("admin")).isTrue();
+    }
+
+    @Test
+    void isUpWhenDisabled() {
+        assertThat(cacheWarmUp.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yong.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link QueryCountSessionListener} and {@link QueryCountStatementInspector}, counting the
+ * statements without wrapping the data source.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.query-count.jdbc-proxy=false")
+class QueryCountSessionListenerIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @Transactional
+    void countsTheStatementsOfHibernate() {
+        assertThat(dataSource).isNotInstanceOf(QueryCountingDataSource.class);
+
+        QueryCount count = QueryCount.start();
+        try {
+            for (String login : new String[] { "admin", "user" }) {
+                em.createQuery("select user.id from User user where user.login = :login").setParameter("login", login).getResultList();
+            }
+            em.createQuery("select count(user) from User user").getSingleResult();
+            // Not seen by Hibernate
+            jdbcTemplate.queryForObject("select count(*) from jhi_user", Long.class);
+        } finally {
+            QueryCount.stop();
+        }
+
+        assertThat(count.getStatements()).isEqualTo(3);
+        assertThat(count.getRows()).isZero();
+        assertThat(count.getJdbcNanos()).isPositive();
+        assertThat(count.getMostRepeatedStatement().getValue()).isEqualTo(2);
+        assertThat(count.getMostRepeatedStatement().getKey()).contains("login");
+    }
+}
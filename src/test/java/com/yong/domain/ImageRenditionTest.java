@@ -0,0 +1,23 @@
+package com.yong.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ImageRenditionTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ImageRendition.class);
+        ImageRendition imageRendition1 = new ImageRendition();
+        imageRendition1.setId(1L);
+        ImageRendition imageRendition2 = new ImageRendition();
+        imageRendition2.setId(imageRendition1.getId());
+        assertThat(imageRendition1).isEqualTo(imageRendition2);
+        imageRendition2.setId(2L);
+        assertThat(imageRendition1).isNotEqualTo(imageRendition2);
+        imageRendition1.setId(null);
+        assertThat(imageRendition1).isNotEqualTo(imageRendition2);
+    }
+}
@@ -0,0 +1,158 @@
+package com.yong.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.domain.PersistentToken;
+import com.yong.domain.User;
+import com.yong.repository.PersistentTokenRepository;
+import com.yong.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link PersistentTokenMetadataWriter}.
+ */
+@IntegrationTest
+@Transactional
+class PersistentTokenMetadataWriterIT {
+
+    @Autowired
+    private PersistentTokenMetadataWriter tokenMetadataWriter;
+
+    @Autowired
+    private PersistentTokenRepository persistentTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PersistentToken token;
+
+    @BeforeEach
+    public void init() {
+        User user = new User();
+        user.setPassword(RandomStringUtils.random(60));
+        user.setLogin("token-writer");
+        user.setEmail("token-writer@example.com");
+        userRepository.saveAndFlush(user);
+
+        token = new PersistentToken();
+        token.setSeries("token-writer-series");
+        token.setUser(user);
+        token.setTokenValue("first-value");
+        token.setTokenDate(LocalDate.of(2021, 3, 1));
+        token.setIpAddress("127.0.0.1");
+        token.setUserAgent("First agent");
+        persistentTokenRepository.saveAndFlush(token);
+        // Detached, as the refreshed tokens of the remember-me logins
+        em.clear();
+    }
+
+    @Test
+    void writesTheLastMetadataOfASeries() {
+        tokenMetadataWriter.update(token.getSeries(), token.getTokenDate(), "10.0.0.1", token.getUserAgent());
+        tokenMetadataWriter.update(token.getSeries(), LocalDate.of(2021, 3, 2), "10.0.0.2", "Second agent");
+        // Rotated meanwhile, which the metadata must not revert
+        assertThat(tokenMetadataWriter.writeValue(token.getSeries(), "second-value")).isTrue();
+        em.flush();
+        em.clear();
+
+        tokenMetadataWriter.flush();
+        em.flush();
+        em.clear();
+
+        PersistentToken written = persistentTokenRepository.findById(token.getSeries()).orElseThrow();
+        assertThat(written.getTokenValue()).isEqualTo("second-value");
+        assertThat(written.getTokenDate()).isEqualTo(LocalDate.of(2021, 3, 2));
+        assertThat(written.getIpAddress()).isEqualTo("10.0.0.2");
+        assertThat(written.getUserAgent()).isEqualTo("Second agent");
+    }
+
+    @Test
+    void skipsDeletedTokens() {
+        tokenMetadataWriter.update(token.getSeries(), token.getTokenDate(), token.getIpAddress(), token.getUserAgent());
+        persistentTokenRepository.deleteById(token.getSeries());
+        persistentTokenRepository.flush();
+
+        tokenMetadataWriter.flush();
+        em.flush();
+
+        assertThat(persistentTokenRepository.findById(token.getSeries())).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void doesNotCacheAValueRotatedDuringAWrite() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Cached, as by the previous login of the series
+            assertThat(persistentTokenRepository.findById(token.getSeries())).isPresent();
+            assertThat(entityManagerFactory.getCache().contains(PersistentToken.class, token.getSeries())).isTrue();
+            tokenMetadataWriter.update(token.getSeries(), LocalDate.of(2021, 3, 2), "10.0.0.2", "Second agent");
+
+            AtomicReference<Thread> writer = new AtomicReference<>();
+            Future<?> flushed = new TransactionTemplate(transactionManager)
+                .execute(
+                    status -> {
+                        // Rotated, and the row locked, until this transaction commits
+                        assertThat(tokenMetadataWriter.writeValue(token.getSeries(), "second-value")).isTrue();
+                        em.flush();
+                        Future<?> flush = executor.submit(
+                            () -> {
+                                writer.set(Thread.currentThread());
+                                tokenMetadataWriter.flush();
+                            }
+                        );
+                        awaitBlocked(writer);
+                        return flush;
+                    }
+                );
+            flushed.get(10, TimeUnit.SECONDS);
+
+            assertThat(entityManagerFactory.getCache().contains(PersistentToken.class, token.getSeries())).isFalse();
+            PersistentToken written = persistentTokenRepository.findById(token.getSeries()).orElseThrow();
+            assertThat(written.getTokenValue()).isEqualTo("second-value");
+            assertThat(written.getTokenDate()).isEqualTo(LocalDate.of(2021, 3, 2));
+            assertThat(written.getIpAddress()).isEqualTo("10.0.0.2");
+            assertThat(written.getUserAgent()).isEqualTo("Second agent");
+        } finally {
+            executor.shutdownNow();
+            persistentTokenRepository.deleteById(token.getSeries());
+            userRepository.deleteById(token.getUser().getId());
+        }
+    }
+
+    private static void awaitBlocked(AtomicReference<Thread> thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread current = thread.get();
+            if (current != null && (current.getState() == Thread.State.WAITING || current.getState() == Thread.State.TIMED_WAITING)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.yong.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link UpgradedTokenCache}.
+ */
+class UpgradedTokenCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void evictsTheOldestTokensWhenFull() {
+        UpgradedTokenCache<String> cache = new UpgradedTokenCache<>(60_000, 2, meterRegistry);
+
+        cache.put("series-1", "token-1");
+        cache.put("series-2", "token-2");
+        cache.put("series-1", "token-1b");
+        cache.put("series-3", "token-3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("series-2")).isNull();
+        assertThat(cache.get("series-1")).isEqualTo("token-1b");
+        assertThat(cache.get("series-3")).isEqualTo("token-3");
+        assertThat(meterRegistry.get("remember.me.upgraded.tokens.evictions").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("remember.me.upgraded.tokens.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("remember.me.upgraded.tokens.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("remember.me.upgraded.tokens.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresTokens() throws InterruptedException {
+        UpgradedTokenCache<String> cache = new UpgradedTokenCache<>(1, 10, meterRegistry);
+
+        cache.put("series-1", "token-1");
+        Thread.sleep(10);
+
+        assertThat(cache.get("series-1")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.get("remember.me.upgraded.tokens.evictions").counter().count()).isZero();
+    }
+}
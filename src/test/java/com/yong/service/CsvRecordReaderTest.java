@@ -0,0 +1,39 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsSeparatedValues() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("id;content\n1;override\n\n2;;\n"));
+
+        assertThat(reader.readRecord()).containsExactly("id", "content");
+        assertThat(reader.readRecord()).containsExactly("1", "override");
+        assertThat(reader.readRecord()).containsExactly("2", "", "");
+        assertThat(reader.getRecordNumber()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readsQuotedValues() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("1;\"a;b\";\"say \"\"hi\"\"\"\n2;\"first\nsecond\";x\n3;y\n"));
+
+        assertThat(reader.readRecord()).containsExactly("1", "a;b", "say \"hi\"");
+        assertThat(reader.readRecord()).containsExactly("2", "first\nsecond", "x");
+        assertThat(reader.readRecord()).containsExactly("3", "y");
+        assertThat(reader.getRecordNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedValues() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("1;\"never\nclosed\n"));
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class).hasMessageContaining("record 1");
+    }
+}
@@ -0,0 +1,87 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yong.domain.Image;
+import com.yong.repository.ImageRepository;
+import com.yong.service.dto.ImageDTO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.StreamUtils;
+
+class FileSystemImageContentStoreTest {
+
+    private static final byte[] CONTENT = { 1, 2, 3 };
+
+    private static final String SHA256 = ImageService.sha256(CONTENT);
+
+    @TempDir
+    Path directory;
+
+    private ImageRepository imageRepository;
+
+    private FileSystemImageContentStore store;
+
+    @BeforeEach
+    public void setup() {
+        imageRepository = mock(ImageRepository.class);
+        store = new FileSystemImageContentStore(directory, imageRepository);
+    }
+
+    @Test
+    void assertThatContentIsStoredByHash() throws IOException {
+        store.store(createImage(1L), CONTENT);
+
+        Path path = store.resolve(SHA256);
+        assertThat(path).isEqualTo(directory.resolve(SHA256.substring(0, 2)).resolve(SHA256.substring(2, 4)).resolve(SHA256));
+        assertThat(Files.readAllBytes(path)).isEqualTo(CONTENT);
+        try (InputStream in = store.getContent(createImageDTO()).getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(in)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void assertThatCopyChecksTheHash() throws IOException {
+        assertThat(store.copy(SHA256, new ByteArrayInputStream(CONTENT))).isTrue();
+        assertThat(store.copy(SHA256, new ByteArrayInputStream(CONTENT))).isFalse();
+
+        String otherSha256 = ImageService.sha256(new byte[] { 4 });
+        assertThatThrownBy(() -> store.copy(otherSha256, new ByteArrayInputStream(CONTENT))).isInstanceOf(IOException.class);
+        assertThat(store.resolve(otherSha256)).doesNotExist();
+    }
+
+    @Test
+    void assertThatSharedContentIsKeptOnDelete() {
+        Image image = createImage(1L);
+        store.store(image, CONTENT);
+
+        when(imageRepository.existsBySha256AndIdNot(SHA256, 1L)).thenReturn(true);
+        store.delete(image);
+        assertThat(store.resolve(SHA256)).exists();
+
+        when(imageRepository.existsBySha256AndIdNot(SHA256, 1L)).thenReturn(false);
+        store.delete(image);
+        assertThat(store.resolve(SHA256)).doesNotExist();
+    }
+
+    private static Image createImage(Long id) {
+        return new Image().id(id).contentType("image/png").size((long) CONTENT.length).sha256(SHA256);
+    }
+
+    private static ImageDTO createImageDTO() {
+        ImageDTO imageDTO = new ImageDTO();
+        imageDTO.setId(1L);
+        imageDTO.setSha256(SHA256);
+        imageDTO.setSize((long) CONTENT.length);
+        return imageDTO;
+    }
+}
@@ -0,0 +1,130 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.domain.Image;
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.repository.ImageRenditionRepository;
+import com.yong.service.dto.ImageDTO;
+import com.yong.web.rest.MovieResourceIT;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Integration tests for {@link ImageRenditionService}.
+ */
+@IntegrationTest
+@Transactional
+class ImageRenditionServiceIT {
+
+    @Autowired
+    private ImageRenditionService imageRenditionService;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ImageDTO source;
+
+    @BeforeEach
+    public void init() throws IOException {
+        Image image = MovieResourceIT.createImage(em, createPng(800, 400), "image/png");
+        em.flush();
+        source = imageService.findOne(image.getId()).get();
+    }
+
+    @Test
+    void assertThatRenditionsAreGenerated() throws IOException {
+        imageRenditionService.generateRenditions(source.getId());
+
+        ImageDTO list = imageService.findRendition(source, ImageSize.LIST).get();
+        assertThat(list.getContentType()).isEqualTo("image/jpeg");
+        BufferedImage listImage = read(list);
+        assertThat(listImage.getWidth()).isEqualTo(100);
+        assertThat(listImage.getHeight()).isEqualTo(50);
+
+        ImageDTO card = imageService.findRendition(source, ImageSize.CARD).get();
+        BufferedImage cardImage = read(card);
+        assertThat(cardImage.getWidth()).isEqualTo(400);
+        assertThat(cardImage.getHeight()).isEqualTo(200);
+
+        // The source is small enough to be its own full size rendition
+        assertThat(imageService.findRendition(source, ImageSize.FULL)).contains(source);
+    }
+
+    @Test
+    void assertThatGenerationIsIdempotent() {
+        imageRenditionService.generateRenditions(source.getId());
+        long count = imageRenditionRepository.count();
+
+        imageRenditionService.generateRenditions(source.getId());
+
+        assertThat(imageRenditionRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void assertThatUnsupportedFormatsAreSkipped() {
+        Image image = MovieResourceIT.createImage(em, new byte[] { 1, 2, 3 }, "application/octet-stream");
+        em.flush();
+        long count = imageRenditionRepository.count();
+
+        imageRenditionService.generateRenditions(image.getId());
+
+        assertThat(imageRenditionRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void assertThatHugeImagesAreNotDecoded() throws IOException {
+        // A few bytes declaring 50000 x 50000 pixels, 10 GB once decoded
+        Image image = MovieResourceIT.createImage(em, withDimensions(createPng(1, 1), 50_000, 50_000), "image/png");
+        em.flush();
+        long count = imageRenditionRepository.count();
+
+        imageRenditionService.generateRenditions(image.getId());
+
+        assertThat(imageRenditionRepository.count()).isEqualTo(count);
+    }
+
+    private BufferedImage read(ImageDTO image) throws IOException {
+        byte[] content = StreamUtils.copyToByteArray(imageService.getContent(image).getInputStream());
+        return ImageIO.read(new ByteArrayInputStream(content));
+    }
+
+    private static byte[] createPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Change the dimensions declared by the IHDR chunk of a PNG, which follows the 8 bytes of the signature.
+     */
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        // Type and data of the chunk
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+}
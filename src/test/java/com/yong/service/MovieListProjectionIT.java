@@ -0,0 +1,86 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.config.jdbc.QueryCount;
+import com.yong.domain.Movie;
+import com.yong.domain.User;
+import com.yong.service.dto.MovieDTO;
+import com.yong.web.rest.MovieResourceIT;
+import com.yong.web.rest.UserResourceIT;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests of the DTO projection read by {@link MovieService#findAll(Pageable)}.
+ * <p>
+ * The memory it saves over managed entities is measured by {@code ListProjectionBenchmark}, in the JMH benchmarks.
+ */
+@IntegrationTest
+@Transactional
+class MovieListProjectionIT {
+
+    private static final int MOVIES = 30;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void init() {
+        for (int i = 0; i < MOVIES; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            Movie movie = MovieResourceIT.createEntity(em);
+            movie.setUser(user);
+            em.persist(movie);
+        }
+        em.flush();
+        em.clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void readsAPageWithoutLoadingEntities() {
+        QueryCount count = QueryCount.start();
+        Page<MovieDTO> page;
+        try {
+            page = movieService.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+        } finally {
+            QueryCount.stop();
+        }
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(movie -> assertThat(movie.getUser()).isNotNull());
+        assertThat(page.getContent()).allSatisfy(movie -> assertThat(movie.getImage()).isNotNull());
+        // The page and its count
+        assertThat(count.getStatements()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.config.ApplicationProperties;
+import com.yong.repository.UserRepository;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PerfDataGenerator}, on a small dataset.
+ */
+@IntegrationTest
+@Transactional
+class PerfDataGeneratorIT {
+
+    private static final int USERS = 3;
+
+    private static final int MOVIES = 5;
+
+    private static final int NEWS = 4;
+
+    private static final int TWEETS = 200;
+
+    @Autowired
+    private PerfDataGenerator perfDataGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ApplicationProperties.PerfData perfData;
+
+    private long maxMovieId;
+
+    private long maxNewsId;
+
+    private long maxTwitterId;
+
+    @BeforeEach
+    public void init() {
+        perfData = new ApplicationProperties.PerfData();
+        perfData.setUsers(USERS);
+        perfData.setMovies(MOVIES);
+        perfData.setNews(NEWS);
+        perfData.setTweets(TWEETS);
+        perfData.setImages(2);
+        perfData.setImageMedianSize(2_000);
+        maxMovieId = maxId("Movie");
+        maxNewsId = maxId("News");
+        maxTwitterId = maxId("Twitter");
+    }
+
+    @Test
+    void generateDataset() {
+        assertThat(perfDataGenerator.generate(perfData)).isTrue();
+
+        assertThat(userRepository.findOneByLogin(PerfDataGenerator.LOGIN_PREFIX + USERS)).isPresent();
+        assertThat(countNewerThan("Movie", maxMovieId)).isEqualTo(MOVIES);
+        assertThat(countNewerThan("News", maxNewsId)).isEqualTo(NEWS);
+        assertThat(countNewerThan("Twitter", maxTwitterId)).isEqualTo(TWEETS);
+
+        List<Long> tweetsPerMovie = em
+            .createQuery("select count(t) from Twitter t where t.id > :id group by t.movie.id order by count(t) desc", Long.class)
+            .setParameter("id", maxTwitterId)
+            .getResultList();
+        // Evenly spread, each movie would get 40 tweets
+        assertThat(tweetsPerMovie.get(0)).isGreaterThan(2L * TWEETS / MOVIES);
+    }
+
+    @Test
+    void generateDatasetOnce() {
+        assertThat(perfDataGenerator.generate(perfData)).isTrue();
+        assertThat(perfDataGenerator.generate(perfData)).isFalse();
+
+        assertThat(countNewerThan("Twitter", maxTwitterId)).isEqualTo(TWEETS);
+    }
+
+    @Test
+    void generateIncompleteDatasetAgain() {
+        assertThat(perfDataGenerator.generate(perfData)).isTrue();
+        // As if the generation had been interrupted in the middle of the tweets
+        em.createQuery("delete from Twitter t where t.id > :id").setParameter("id", maxTwitterId + TWEETS / 2).executeUpdate();
+
+        assertThat(perfDataGenerator.generate(perfData)).isTrue();
+
+        assertThat(countNewerThan("Movie", maxMovieId)).isEqualTo(MOVIES);
+        assertThat(countNewerThan("News", maxNewsId)).isEqualTo(NEWS);
+        assertThat(countNewerThan("Twitter", maxTwitterId)).isEqualTo(TWEETS);
+        assertThat(
+            em.createQuery("select count(u) from User u where u.login like :logins", Long.class)
+                .setParameter("logins", PerfDataGenerator.LOGIN_PREFIX + "%")
+                .getSingleResult()
+        )
+            .isEqualTo(USERS);
+        assertThat(perfDataGenerator.generate(perfData)).isFalse();
+    }
+
+    private long maxId(String entity) {
+        return em.createQuery("select coalesce(max(e.id), 0) from " + entity + " e", Long.class).getSingleResult();
+    }
+
+    private long countNewerThan(String entity, long id) {
+        return em.createQuery("select count(e) from " + entity + " e where e.id > :id", Long.class).setParameter("id", id).getSingleResult();
+    }
+}
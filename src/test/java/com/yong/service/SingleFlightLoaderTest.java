@@ -0,0 +1,145 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link SingleFlightLoader}.
+ */
+class SingleFlightLoaderTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlightLoader loader;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new SingleFlightLoader(mock(PlatformTransactionManager.class), meterRegistry);
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharesTheLoadOfTheSameEntity() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> slowLoad = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "movie-1";
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> loader.load(Movie.class, 1L, slowLoad)));
+        awaitCount("loaded", 1);
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(executor.submit(() -> loader.load(Movie.class, 1L, slowLoad)));
+        }
+        awaitCount("coalesced", FOLLOWERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("movie-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loadsOtherEntitiesSeparately() {
+        assertThat(loader.load(Movie.class, 1L, () -> "movie-1")).isEqualTo("movie-1");
+        assertThat(loader.load(Movie.class, 2L, () -> "movie-2")).isEqualTo("movie-2");
+        assertThat(loader.load(News.class, 1L, () -> "news-1")).isEqualTo("news-1");
+        // Finished loads are not kept
+        assertThat(loader.load(Movie.class, 1L, () -> "movie-1b")).isEqualTo("movie-1b");
+        assertThat(meterRegistry.get("single.flight.requests").tag("entity", "Movie").tag("result", "loaded").counter().count())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void sharesTheFailureOfTheLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> failingLoad = () -> {
+            await(release);
+            throw new IllegalStateException("Database down");
+        };
+
+        Future<String> leader = executor.submit(() -> loader.load(Movie.class, 1L, failingLoad));
+        awaitCount("loaded", 1);
+        Future<String> follower = executor.submit(() -> loader.load(Movie.class, 1L, failingLoad));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(loader.load(Movie.class, 1L, () -> "movie-1")).isEqualTo("movie-1");
+    }
+
+    @Test
+    void startsANewLoadAfterAChange() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = executor.submit(
+            () ->
+                loader.load(
+                    Movie.class,
+                    1L,
+                    () -> {
+                        await(release);
+                        return "old";
+                    }
+                )
+        );
+        awaitCount("loaded", 1);
+
+        loader.onEntityChanged(new EntityChangedEvent(Movie.class, 1L));
+
+        assertThat(loader.load(Movie.class, 1L, () -> "new")).isEqualTo("new");
+        release.countDown();
+        assertThat(before.get(10, TimeUnit.SECONDS)).isEqualTo("old");
+    }
+
+    private void awaitCount(String result, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (
+            meterRegistry.find("single.flight.requests").tag("result", result).counters().stream().mapToDouble(c -> c.count()).sum() < count
+        ) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
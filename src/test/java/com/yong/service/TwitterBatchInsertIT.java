@@ -0,0 +1,49 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.IntegrationTest;
+import com.yong.config.jdbc.QueryCount;
+import com.yong.web.rest.TwitterResourceIT;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests of the tweet inserts, sent in JDBC batches as allowed by the pooled table generator.
+ * <p>
+ * The throughput of the inserts is measured by {@code TwitterInsertBenchmark}, in the JMH benchmarks.
+ */
+@IntegrationTest
+@Transactional
+class TwitterBatchInsertIT {
+
+    private static final int TWEETS = 200;
+
+    private static final int BATCH_SIZE = 25;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void insertsTweetsInBatches() {
+        em.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+        QueryCount count = QueryCount.start();
+        try {
+            for (int i = 0; i < TWEETS; i++) {
+                em.persist(TwitterResourceIT.createEntity(em));
+            }
+            em.flush();
+        } finally {
+            QueryCount.stop();
+        }
+
+        // The id generator runs fewer statements, a select and an update per block of 50 ids
+        Map.Entry<String, Integer> inserts = count.getMostRepeatedStatement();
+        assertThat(inserts.getKey()).startsWithIgnoringCase("insert into twitter");
+        assertThat(inserts.getValue()).isEqualTo(TWEETS / BATCH_SIZE);
+    }
+}
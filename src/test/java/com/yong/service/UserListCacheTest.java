@@ -0,0 +1,114 @@
+package com.yong.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.domain.Movie;
+import com.yong.domain.Twitter;
+import com.yong.repository.MovieRepository;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Test class for the {@link UserListCache}.
+ */
+class UserListCacheTest {
+
+    private static final String CACHE = MovieRepository.MOVIES_BY_USER_CACHE;
+
+    private UserListCache userListCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void init() {
+        userListCache = new UserListCache(new ConcurrentMapCacheManager(CACHE));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void keepsThePagesOfEachUser() {
+        assertThat(get(1L, "page:0")).isEqualTo("1 page:0");
+        assertThat(get(1L, "page:1")).isEqualTo("1 page:1");
+        assertThat(get(2L, "page:0")).isEqualTo("2 page:0");
+
+        assertThat(get(1L, "page:0")).isEqualTo("1 page:0");
+        assertThat(get(1L, "page:1")).isEqualTo("1 page:1");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void evictsAllThePagesOfAUserOnly() {
+        get(1L, "page:0");
+        get(1L, "page:1");
+        get(2L, "page:0");
+
+        userListCache.evict(CACHE, 1L);
+
+        get(1L, "page:0");
+        get(1L, "page:1");
+        get(2L, "page:0");
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void dropsTheOlderPagesOfAUserWithTooManyPages() {
+        for (int i = 0; i <= UserListCache.MAX_PAGES_PER_USER; i++) {
+            get(1L, "page:" + i);
+        }
+
+        get(1L, "page:" + UserListCache.MAX_PAGES_PER_USER);
+        get(1L, "page:1");
+        assertThat(loads).hasValue(UserListCache.MAX_PAGES_PER_USER + 1);
+        get(1L, "page:0");
+        assertThat(loads).hasValue(UserListCache.MAX_PAGES_PER_USER + 2);
+    }
+
+    @Test
+    void doesNotKeepAPageLoadedDuringAnEviction() {
+        get(1L, "page:0");
+        userListCache.get(
+            CACHE,
+            1L,
+            "page:1",
+            () -> {
+                loads.incrementAndGet();
+                userListCache.evict(CACHE, 1L);
+                return "1 page:1";
+            }
+        );
+
+        get(1L, "page:0");
+        get(1L, "page:1");
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void evictsAllTheUsersAfterABulkChange() {
+        get(1L, "page:0");
+        get(2L, "page:0");
+
+        userListCache.onEntityChanged(new EntityChangedEvent(Twitter.class, null));
+        userListCache.onEntityChanged(new EntityChangedEvent(Movie.class, 42L));
+        get(1L, "page:0");
+        assertThat(loads).hasValue(2);
+
+        userListCache.onEntityChanged(new EntityChangedEvent(Movie.class, null));
+        get(1L, "page:0");
+        get(2L, "page:0");
+        assertThat(loads).hasValue(4);
+    }
+
+    private String get(Long userId, String query) {
+        return userListCache.get(
+            CACHE,
+            userId,
+            query,
+            () -> {
+                loads.incrementAndGet();
+                return userId + " " + query;
+            }
+        );
+    }
+}
@@ -0,0 +1,90 @@
+package com.yong.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yong.IntegrationTest;
+import com.yong.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Integration tests for {@link QueryCountFilter}.
+ */
+@IntegrationTest
+class QueryCountFilterIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.QueryCount properties;
+
+    @BeforeEach
+    public void init() {
+        properties = new ApplicationProperties.QueryCount();
+        // The data source of the tests counts the rows
+        properties.setJdbcProxy(true);
+        properties.setHeader(true);
+    }
+
+    @Test
+    void countsTheStatementsOfTheRequest() throws Exception {
+        MockHttpServletRequest request = newRequest("/api/query-count-test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(properties, meterRegistry)
+            .doFilter(
+                request,
+                response,
+                (req, res) -> {
+                    jdbcTemplate.queryForObject("select count(*) from jhi_user", Long.class);
+                    jdbcTemplate.queryForList("select login from jhi_user", String.class);
+                }
+            );
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        assertThat(meterRegistry.get("http.server.requests.statements").tag("uri", "/api/query-count-test").summary().totalAmount())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.requests.rows").tag("uri", "/api/query-count-test").summary().totalAmount())
+            .isGreaterThan(2);
+        assertThat(meterRegistry.get("http.server.requests.jdbc").tag("uri", "/api/query-count-test").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsOnRepeatedStatements() {
+        properties.setRepeatedStatementBudget(2);
+        properties.setFailOnBudgetExceeded(true);
+        QueryCountFilter filter = new QueryCountFilter(properties, meterRegistry);
+
+        assertThatThrownBy(
+            () ->
+                filter.doFilter(
+                    newRequest("/api/query-count-test/{id}"),
+                    new MockHttpServletResponse(),
+                    (req, res) -> {
+                        for (long id = 1; id <= 3; id++) {
+                            jdbcTemplate.queryForObject("select count(*) from jhi_user where id = ?", Long.class, id);
+                        }
+                    }
+                )
+        )
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("N+1")
+            .hasMessageContaining("select count(*) from jhi_user where id = ?");
+    }
+
+    private static MockHttpServletRequest newRequest(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.yong.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yong.IntegrationTest;
+import com.yong.service.MovieService;
+import com.yong.service.dto.MovieDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ResponseCacheFilter}, in front of the movie list.
+ * <p>
+ * Not transactional: the kept pages are dropped once the changes are committed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "application.response-cache.enabled=true")
+class ResponseCacheFilterIT {
+
+    private static final String MOVIES_URL = "/api/movies?sort=id,desc";
+
+    private static final String NAME = "response-cache";
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MovieDTO movie;
+
+    @AfterEach
+    public void cleanup() {
+        if (movie != null) {
+            movieService.delete(movie.getId());
+        }
+    }
+
+    @Test
+    void dropsTheKeptPagesOnceAMovieIsSaved() throws Exception {
+        mockMvc.perform(get(MOVIES_URL)).andExpect(status().isOk()).andExpect(jsonPath("$.[*].name").value(not(hasItem(NAME))));
+        double hits = hits();
+        mockMvc.perform(get(MOVIES_URL)).andExpect(status().isOk());
+        assertThat(hits()).isEqualTo(hits + 1);
+
+        MovieDTO movieDTO = new MovieDTO();
+        movieDTO.setName(NAME);
+        movie = movieService.save(movieDTO);
+
+        mockMvc.perform(get(MOVIES_URL)).andExpect(status().isOk()).andExpect(jsonPath("$.[*].name").value(hasItem(NAME)));
+        assertThat(hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void keepsThePagesBehindTheSecurityFilters() throws Exception {
+        mockMvc.perform(get(MOVIES_URL)).andExpect(status().isOk());
+        mockMvc.perform(get(MOVIES_URL)).andExpect(status().isOk());
+
+        mockMvc.perform(get(MOVIES_URL).with(anonymous())).andExpect(status().isUnauthorized());
+    }
+
+    private double hits() {
+        return meterRegistry.get("http.response.cache.gets").tag("list", "/api/movies").tag("result", "hit").counter().count();
+    }
+}
@@ -0,0 +1,136 @@
+package com.yong.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yong.config.ApplicationProperties;
+import com.yong.domain.Movie;
+import com.yong.domain.News;
+import com.yong.service.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Test class for the {@link ResponseCacheFilter}.
+ */
+class ResponseCacheFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ResponseCacheFilter filter;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties.ResponseCache properties = new ApplicationProperties.ResponseCache();
+        properties.setPages(2);
+        filter = new ResponseCacheFilter(properties, meterRegistry);
+        filter.addList("/api/movies", Movie.class);
+    }
+
+    @Test
+    void servesTheKeptFirstPages() throws Exception {
+        MockHttpServletResponse first = get("/api/movies", "page=0&size=20&sort=id,asc");
+        MockHttpServletResponse second = get("/api/movies", "page=0&size=20&sort=id,asc");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("[{\"id\":1}]");
+        assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(second.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(second.getHeader(HttpHeaders.LINK)).isEqualTo("<http://localhost/api/movies?page=0&size=20>; rel=\"first\"");
+        assertThat(second.getHeader("X-Not-Kept")).isNull();
+        assertThat(meterRegistry.get("http.response.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.response.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsEachSortOrderAndOnlyTheFirstPages() throws Exception {
+        get("/api/movies", "sort=name,asc");
+        get("/api/movies", "sort=name,desc");
+        get("/api/movies", "page=2");
+        get("/api/movies", "page=2");
+        get("/api/movies", "after=cursor");
+        get("/api/movies", "after=cursor");
+        assertThat(loads.get()).isEqualTo(6);
+
+        get("/api/movies", "sort=name,asc");
+        get("/api/movies", "sort=name,desc");
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    @Test
+    void dropsThePagesOfTheChangedEntities() throws Exception {
+        get("/api/movies", null);
+
+        filter.onEntityChanged(new EntityChangedEvent(News.class, 1L));
+        get("/api/movies", null);
+        assertThat(loads.get()).isEqualTo(1);
+
+        filter.onEntityChanged(new EntityChangedEvent(Movie.class, 1L));
+        get("/api/movies", null);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotKeepAPageReadDuringAChange() throws Exception {
+        FilterChain changing = (request, response) -> {
+            load((HttpServletResponse) response);
+            filter.onEntityChanged(new EntityChangedEvent(Movie.class, 1L));
+        };
+        filter.doFilter(newRequest("/api/movies", null), new MockHttpServletResponse(), changing);
+
+        get("/api/movies", null);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotKeepErrors() throws Exception {
+        FilterChain failing = (request, response) -> {
+            loads.incrementAndGet();
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        };
+        filter.doFilter(newRequest("/api/movies", null), new MockHttpServletResponse(), failing);
+
+        get("/api/movies", null);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse get(String path, String query) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(newRequest(path, query), response, (req, res) -> load((HttpServletResponse) res));
+        return response;
+    }
+
+    private void load(HttpServletResponse response) throws IOException {
+        loads.incrementAndGet();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("X-Total-Count", "1");
+        response.setHeader(HttpHeaders.LINK, "<http://localhost/api/movies?page=0&size=20>; rel=\"first\"");
+        response.setHeader("X-Not-Kept", "true");
+        response.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest newRequest(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String parameter : query.split("&")) {
+                String[] nameAndValue = parameter.split("=", 2);
+                request.addParameter(nameAndValue[0], nameAndValue[1]);
+            }
+        }
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.yong.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.yong.IntegrationTest;
+import com.yong.domain.Twitter;
+import com.yong.repository.TwitterRepository;
+import com.yong.security.AuthoritiesConstants;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ImportResource} REST controller.
+ * <p>
+ * The rows are written by the import workers in their own transactions: the tests are not transactional, and delete
+ * the twitters they import.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class ImportResourceIT {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private static final String TWITTER_CSV = "src/main/resources/config/liquibase/fake-data/twitter.csv";
+
+    @Autowired
+    private TwitterRepository twitterRepository;
+
+    @Autowired
+    private MockMvc restImportMockMvc;
+
+    private Set<Long> existingIds;
+
+    @BeforeEach
+    public void initTest() {
+        existingIds = twitterRepository.findAll().stream().map(Twitter::getId).collect(Collectors.toSet());
+    }
+
+    @AfterEach
+    public void deleteImportedTwitters() {
+        twitterRepository.deleteAll(importedTwitters());
+    }
+
+    @Test
+    void importTwitters() throws Exception {
+        byte[] csv = Files.readAllBytes(Paths.get(TWITTER_CSV));
+
+        restImportMockMvc
+            .perform(post("/api/admin/import/twitter").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(10))
+            .andExpect(jsonPath("$.rejected").value(0))
+            .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+
+        List<Twitter> twitters = importedTwitters();
+        assertThat(twitters).hasSize(10);
+        assertThat(twitters).extracting(Twitter::getContent).contains("override", "orchestration Refined");
+    }
+
+    @Test
+    void importTwittersRejectsInvalidRows() throws Exception {
+        String csv =
+            "id;content;pub_date;publisher\n" +
+            "1;\"quoted; content\";2021-06-09T09:54:23;Principal\n" +
+            "2;;2021-06-09T20:42:13;Principal\n" +
+            "3;bad date;yesterday;Principal\n" +
+            "4;\"multi\nline\";;\n";
+
+        restImportMockMvc
+            .perform(post("/api/admin/import/twitter").contentType(TEXT_CSV).content(csv.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[*].index").value(containsInAnyOrder(3, 4)))
+            .andExpect(jsonPath("$.errors[?(@.index == 3)].message").value(hasItem(startsWith("content: "))));
+
+        assertThat(importedTwitters()).extracting(Twitter::getContent).containsExactlyInAnyOrder("quoted; content", "multi\nline");
+    }
+
+    @Test
+    void importUnknownTable() throws Exception {
+        restImportMockMvc
+            .perform(post("/api/admin/import/unknown").contentType(TEXT_CSV).content("id;name\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importIsForbiddenToUsers() throws Exception {
+        restImportMockMvc
+            .perform(post("/api/admin/import/twitter").contentType(TEXT_CSV).content(Files.readAllBytes(Paths.get(TWITTER_CSV))))
+            .andExpect(status().isForbidden());
+
+        assertThat(importedTwitters()).isEmpty();
+    }
+
+    private List<Twitter> importedTwitters() {
+        return twitterRepository.findAll().stream().filter(twitter -> !existingIds.contains(twitter.getId())).collect(Collectors.toList());
+    }
+}
@@ -1,31 +1,55 @@
 package com.yong.web.rest;
 
+import static com.yong.web.rest.TestUtil.statementCountAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.yong.IntegrationTest;
+import com.yong.domain.Image;
+import com.yong.domain.ImageContent;
+import com.yong.domain.ImageRendition;
 import com.yong.domain.Movie;
+import com.yong.domain.User;
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.repository.ImageContentRepository;
 import com.yong.repository.MovieRepository;
+import com.yong.repository.UserRepository;
+import com.yong.service.ImageService;
 import com.yong.service.dto.MovieDTO;
 import com.yong.service.mapper.MovieMapper;
+import java.net.URI;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 
 /**
  * Integration tests for the {@link MovieResource} REST controller.
@@ -64,9 +88,18 @@ class MovieResourceIT {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MovieMapper movieMapper;
 
+    @Autowired
+    private ImageContentRepository imageContentRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -75,6 +108,8 @@ class MovieResourceIT {
 
     private Movie movie;
 
+    private Statistics statistics;
+
     /**
      * Create an entity for this test.
      *
@@ -88,8 +123,7 @@ class MovieResourceIT {
             .synopsis(DEFAULT_SYNOPSIS)
             .comment(DEFAULT_COMMENT)
             .startDate(DEFAULT_START_DATE)
-            .image(DEFAULT_IMAGE)
-            .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE);
+            .image(createImage(em, DEFAULT_IMAGE, DEFAULT_IMAGE_CONTENT_TYPE));
         return movie;
     }
 
@@ -106,14 +140,51 @@ class MovieResourceIT {
             .synopsis(UPDATED_SYNOPSIS)
             .comment(UPDATED_COMMENT)
             .startDate(UPDATED_START_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .image(createImage(em, UPDATED_IMAGE, UPDATED_IMAGE_CONTENT_TYPE));
         return movie;
     }
 
+    /**
+     * Create an image for this test.
+     */
+    public static Image createImage(EntityManager em, byte[] content, String contentType) {
+        Image image = new Image().contentType(contentType).size((long) content.length).sha256(ImageService.sha256(content));
+        em.persist(image);
+        em.persist(new ImageContent().image(image).content(content));
+        return image;
+    }
+
     @BeforeEach
     public void initTest() {
         movie = createEntity(em);
+        cacheManager.getCache(MovieRepository.MOVIES_BY_USER_CACHE).clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    /**
+     * Persist movies owned by distinct users, and clear the persistence context so that the next reads hit the database.
+     */
+    private List<Movie> initMoviesWithUsers(int count) {
+        List<Movie> movieList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            movieList.add(movieRepository.saveAndFlush(createEntity(em).user(user)));
+        }
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return movieList;
+    }
+
+    private void assertThatNoUserWasFetchedSeparately() {
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
     }
 
     @Test
@@ -140,8 +211,8 @@ class MovieResourceIT {
         assertThat(testMovie.getSynopsis()).isEqualTo(DEFAULT_SYNOPSIS);
         assertThat(testMovie.getComment()).isEqualTo(DEFAULT_COMMENT);
         assertThat(testMovie.getStartDate()).isEqualTo(DEFAULT_START_DATE);
-        assertThat(testMovie.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testMovie.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(testMovie.getImage().getContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testMovie.getImage().getId()).get().getContent()).isEqualTo(DEFAULT_IMAGE);
     }
 
     @Test
@@ -201,6 +272,7 @@ class MovieResourceIT {
         restMovieMockMvc
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(2))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(movie.getId().intValue())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
@@ -208,8 +280,289 @@ class MovieResourceIT {
             .andExpect(jsonPath("$.[*].synopsis").value(hasItem(DEFAULT_SYNOPSIS)))
             .andExpect(jsonPath("$.[*].comment").value(hasItem(DEFAULT_COMMENT)))
             .andExpect(jsonPath("$.[*].startDate").value(hasItem(DEFAULT_START_DATE.toString())))
-            .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].image.contentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
+            .andExpect(jsonPath("$.[*].image.size").value(hasItem(DEFAULT_IMAGE.length)))
+            .andExpect(jsonPath("$.[*].image.sha256").value(hasItem(ImageService.sha256(DEFAULT_IMAGE))))
+            .andExpect(jsonPath("$.[*].imageData").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesReadsUsersInOneStatement() throws Exception {
+        List<Movie> movieList = initMoviesWithUsers(3);
+
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "?size=3&sort=id,desc&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].user.login").value(movieList.get(2).getUser().getLogin()));
+
+        // Only the id and login of the users are selected, in the same statement as the page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithCursorReadsUsersInOneStatement() throws Exception {
+        List<Movie> movieList = initMoviesWithUsers(3);
+
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=3&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.[0].user.login").value(movieList.get(2).getUser().getLogin()));
+
+        // Projected as the pages, reading no entity at all
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getMovieReadsUserInOneStatement() throws Exception {
+        Movie movieWithUser = initMoviesWithUsers(1).get(0);
+
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID, movieWithUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.user.login").value(movieWithUser.getUser().getLogin()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void findByUserIsCurrentUserReadsUsersInOneStatement() {
+        // The mock user of this test class
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        movieRepository.saveAndFlush(movie.user(user));
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<MovieDTO> movieDTOs = movieRepository.findByUserIsCurrentUser();
+
+        assertThat(movieDTOs).extracting(MovieDTO::getId).contains(movie.getId());
+        assertThat(movieDTOs).extracting(dto -> dto.getUser().getLogin()).containsOnly("user");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void getMyMovies() throws Exception {
+        // Initialize the database with a movie of the mock user and one of another user
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        movieRepository.saveAndFlush(movie.user(user));
+        User other = UserResourceIT.createEntity(em);
+        em.persist(other);
+        Movie otherMovie = movieRepository.saveAndFlush(createEntity(em).user(other));
+
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(movie.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherMovie.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].user.login").value(everyItem(is("user"))));
+    }
+
+    @Test
+    @Transactional
+    void getMyMoviesWithCursor() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        Movie first = movieRepository.saveAndFlush(movie.user(user));
+        Movie second = movieRepository.saveAndFlush(createEntity(em).user(user));
+        Movie third = movieRepository.saveAndFlush(createEntity(em).user(user));
+
+        MvcResult result = restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        restMovieMockMvc.perform(get(next)).andExpect(status().isOk()).andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getMyMoviesWithCursorReadsNoMovie() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        Movie mine = movieRepository.saveAndFlush(movie.user(user));
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?after=&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(2))
+            .andExpect(jsonPath("$.[0].id").value(mine.getId().intValue()))
+            .andExpect(jsonPath("$.[0].user.login").value("user"));
+
+        // The current user is looked up, its movies being projected
+        assertThat(statistics.getEntityStatistics(Movie.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isLessThanOrEqualTo(1);
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getMyMoviesWithCursorOnOtherProperty() throws Exception {
+        restMovieMockMvc.perform(get(ENTITY_API_URL + "/mine?after=&sort=name,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getMyMoviesIsEvictedOnSaveAndDelete() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        restMovieMockMvc.perform(get(ENTITY_API_URL + "/mine?sort=id,desc")).andExpect(status().isOk());
+
+        // Create a movie of the mock user, the cached page must not be served anymore
+        restMovieMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(movieMapper.toDto(movie.user(user))))
+            )
+            .andExpect(status().isCreated());
+        Long id = movieRepository.findAllProjectedByUserId(user.getId(), PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")))
+            .getContent()
+            .get(0)
+            .getId();
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+
+        // Delete it
+        restMovieMockMvc.perform(delete(ENTITY_API_URL_ID, id).with(csrf())).andExpect(status().isNoContent());
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(id.intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void exportMovies() throws Exception {
+        // Initialize the database
+        Movie first = movieRepository.saveAndFlush(movie);
+        Movie second = movieRepository.saveAndFlush(createEntity(em));
+
+        String body = restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // One movie per line, in id order
+        assertThat(body).endsWith("\n");
+        List<Integer> ids = body.lines().map(line -> JsonPath.<Integer>read(line, "$.id")).collect(Collectors.toList());
+        assertThat(ids).isSorted().contains(first.getId().intValue(), second.getId().intValue());
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithoutCount() throws Exception {
+        // Initialize the database
+        Movie first = movieRepository.saveAndFlush(movie);
+        movieRepository.saveAndFlush(createEntity(em));
+
+        // Get the first slice of the movieList
+        MvcResult result = restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andReturn();
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "last")).isNull();
+
+        // The last slice has no next link
+        result = restMovieMockMvc.perform(get(next)).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1)).andReturn();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next")).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithCursor() throws Exception {
+        // Initialize the database
+        Movie first = movieRepository.saveAndFlush(movie);
+        Movie second = movieRepository.saveAndFlush(createEntity(em));
+        Movie third = movieRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page of the movieList, newest first
+        MvcResult result = restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        // Follow the next cursor
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        restMovieMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithInvalidCursor() throws Exception {
+        restMovieMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithCursorSortedByName() throws Exception {
+        // Initialize the database with movies sharing the same name, ordered by id
+        Movie first = movieRepository.saveAndFlush(movie);
+        Movie second = movieRepository.saveAndFlush(createEntity(em));
+        Movie third = movieRepository.saveAndFlush(createEntity(em));
+
+        MvcResult result = restMovieMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=name,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        result =
+            restMovieMockMvc
+                .perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+                .andReturn();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next")).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getAllMoviesWithCursorOnUnindexedProperty() throws Exception {
+        restMovieMockMvc.perform(get(ENTITY_API_URL + "?after=&sort=synopsis,asc")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -229,8 +582,10 @@ class MovieResourceIT {
             .andExpect(jsonPath("$.synopsis").value(DEFAULT_SYNOPSIS))
             .andExpect(jsonPath("$.comment").value(DEFAULT_COMMENT))
             .andExpect(jsonPath("$.startDate").value(DEFAULT_START_DATE.toString()))
-            .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64Utils.encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.image.contentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(jsonPath("$.image.size").value(DEFAULT_IMAGE.length))
+            .andExpect(jsonPath("$.image.sha256").value(ImageService.sha256(DEFAULT_IMAGE)))
+            .andExpect(jsonPath("$.imageData").doesNotExist());
     }
 
     @Test
@@ -240,6 +595,117 @@ class MovieResourceIT {
         restMovieMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getMovieImage() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // Get the movie image
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", movie.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + ImageService.sha256(DEFAULT_IMAGE) + "\""))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getMovieImageWithVersion() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // Get the current version of the movie image
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?v=" + ImageService.sha256(DEFAULT_IMAGE), movie.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getMovieImageRendition() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+        Image rendition = createImage(em, UPDATED_IMAGE, UPDATED_IMAGE_CONTENT_TYPE);
+        em.persist(new ImageRendition().sourceSha256(movie.getImage().getSha256()).size(ImageSize.LIST).image(rendition));
+        em.flush();
+
+        // Get the list size rendition of the current version of the movie image
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?size=LIST&v=" + ImageService.sha256(DEFAULT_IMAGE), movie.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(UPDATED_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + ImageService.sha256(UPDATED_IMAGE) + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private"))
+            .andExpect(content().bytes(UPDATED_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getMovieImageRenditionNotGenerated() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // The original image is served until the rendition exists, and must not be cached as the rendition
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?size=CARD&v=" + ImageService.sha256(DEFAULT_IMAGE), movie.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getMovieImageNotModified() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // Get the movie image with a matching ETag
+        restMovieMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/image", movie.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + ImageService.sha256(DEFAULT_IMAGE) + "\"")
+            )
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getMovieImageRange() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // Get the first byte of the movie image
+        restMovieMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", movie.getId()).header(HttpHeaders.RANGE, "bytes=0-0"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-0/" + DEFAULT_IMAGE.length))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    @WithAnonymousUser
+    void getMovieImageAnonymously() throws Exception {
+        // Initialize the database
+        movieRepository.saveAndFlush(movie);
+
+        // Get the movie image without logging in
+        restMovieMockMvc.perform(get(ENTITY_API_URL_ID + "/image", movie.getId())).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingMovieImage() throws Exception {
+        // Get the movie image
+        restMovieMockMvc.perform(get(ENTITY_API_URL_ID + "/image", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putNewMovie() throws Exception {
@@ -257,10 +723,10 @@ class MovieResourceIT {
             .director(UPDATED_DIRECTOR)
             .synopsis(UPDATED_SYNOPSIS)
             .comment(UPDATED_COMMENT)
-            .startDate(UPDATED_START_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .startDate(UPDATED_START_DATE);
         MovieDTO movieDTO = movieMapper.toDto(updatedMovie);
+        movieDTO.setImageData(UPDATED_IMAGE);
+        movieDTO.setImageDataContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restMovieMockMvc
             .perform(
@@ -280,8 +746,8 @@ class MovieResourceIT {
         assertThat(testMovie.getSynopsis()).isEqualTo(UPDATED_SYNOPSIS);
         assertThat(testMovie.getComment()).isEqualTo(UPDATED_COMMENT);
         assertThat(testMovie.getStartDate()).isEqualTo(UPDATED_START_DATE);
-        assertThat(testMovie.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testMovie.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(testMovie.getImage().getContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testMovie.getImage().getId()).get().getContent()).isEqualTo(UPDATED_IMAGE);
     }
 
     @Test
@@ -372,16 +838,17 @@ class MovieResourceIT {
             .name(UPDATED_NAME)
             .director(UPDATED_DIRECTOR)
             .comment(UPDATED_COMMENT)
-            .startDate(UPDATED_START_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .startDate(UPDATED_START_DATE);
+        MovieDTO partialUpdatedMovieDTO = movieMapper.toDto(partialUpdatedMovie);
+        partialUpdatedMovieDTO.setImageData(UPDATED_IMAGE);
+        partialUpdatedMovieDTO.setImageDataContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restMovieMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedMovie.getId())
                     .with(csrf())
                     .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMovie))
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMovieDTO))
             )
             .andExpect(status().isOk());
 
@@ -394,8 +861,8 @@ class MovieResourceIT {
         assertThat(testMovie.getSynopsis()).isEqualTo(DEFAULT_SYNOPSIS);
         assertThat(testMovie.getComment()).isEqualTo(UPDATED_COMMENT);
         assertThat(testMovie.getStartDate()).isEqualTo(UPDATED_START_DATE);
-        assertThat(testMovie.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testMovie.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(testMovie.getImage().getContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testMovie.getImage().getId()).get().getContent()).isEqualTo(UPDATED_IMAGE);
     }
 
     @Test
@@ -415,16 +882,17 @@ class MovieResourceIT {
             .director(UPDATED_DIRECTOR)
             .synopsis(UPDATED_SYNOPSIS)
             .comment(UPDATED_COMMENT)
-            .startDate(UPDATED_START_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .startDate(UPDATED_START_DATE);
+        MovieDTO partialUpdatedMovieDTO = movieMapper.toDto(partialUpdatedMovie);
+        partialUpdatedMovieDTO.setImageData(UPDATED_IMAGE);
+        partialUpdatedMovieDTO.setImageDataContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restMovieMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedMovie.getId())
                     .with(csrf())
                     .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMovie))
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMovieDTO))
             )
             .andExpect(status().isOk());
 
@@ -437,8 +905,8 @@ class MovieResourceIT {
         assertThat(testMovie.getSynopsis()).isEqualTo(UPDATED_SYNOPSIS);
         assertThat(testMovie.getComment()).isEqualTo(UPDATED_COMMENT);
         assertThat(testMovie.getStartDate()).isEqualTo(UPDATED_START_DATE);
-        assertThat(testMovie.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testMovie.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(testMovie.getImage().getContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testMovie.getImage().getId()).get().getContent()).isEqualTo(UPDATED_IMAGE);
     }
 
     @Test
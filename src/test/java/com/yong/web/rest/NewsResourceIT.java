@@ -1,31 +1,55 @@
 package com.yong.web.rest;
 
+import static com.yong.web.rest.TestUtil.statementCountAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.yong.IntegrationTest;
+import com.yong.domain.Image;
+import com.yong.domain.ImageContent;
+import com.yong.domain.ImageRendition;
 import com.yong.domain.News;
+import com.yong.domain.User;
+import com.yong.domain.enumeration.ImageSize;
+import com.yong.repository.ImageContentRepository;
 import com.yong.repository.NewsRepository;
+import com.yong.repository.UserRepository;
+import com.yong.service.ImageService;
 import com.yong.service.dto.NewsDTO;
 import com.yong.service.mapper.NewsMapper;
+import java.net.URI;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 
 /**
  * Integration tests for the {@link NewsResource} REST controller.
@@ -58,9 +82,18 @@ class NewsResourceIT {
     @Autowired
     private NewsRepository newsRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private NewsMapper newsMapper;
 
+    @Autowired
+    private ImageContentRepository imageContentRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -69,6 +102,8 @@ class NewsResourceIT {
 
     private News news;
 
+    private Statistics statistics;
+
     /**
      * Create an entity for this test.
      *
@@ -80,8 +115,7 @@ class NewsResourceIT {
             .headerline(DEFAULT_HEADERLINE)
             .url(DEFAULT_URL)
             .pubDate(DEFAULT_PUB_DATE)
-            .image(DEFAULT_IMAGE)
-            .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE);
+            .image(createImage(em, DEFAULT_IMAGE, DEFAULT_IMAGE_CONTENT_TYPE));
         return news;
     }
 
@@ -96,14 +130,51 @@ class NewsResourceIT {
             .headerline(UPDATED_HEADERLINE)
             .url(UPDATED_URL)
             .pubDate(UPDATED_PUB_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .image(createImage(em, UPDATED_IMAGE, UPDATED_IMAGE_CONTENT_TYPE));
         return news;
     }
 
+    /**
+     * Create an image for this test.
+     */
+    public static Image createImage(EntityManager em, byte[] content, String contentType) {
+        Image image = new Image().contentType(contentType).size((long) content.length).sha256(ImageService.sha256(content));
+        em.persist(image);
+        em.persist(new ImageContent().image(image).content(content));
+        return image;
+    }
+
     @BeforeEach
     public void initTest() {
         news = createEntity(em);
+        cacheManager.getCache(NewsRepository.NEWS_BY_USER_CACHE).clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    /**
+     * Persist newss owned by distinct users, and clear the persistence context so that the next reads hit the database.
+     */
+    private List<News> initNewsWithUsers(int count) {
+        List<News> newsList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            newsList.add(newsRepository.saveAndFlush(createEntity(em).user(user)));
+        }
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return newsList;
+    }
+
+    private void assertThatNoUserWasFetchedSeparately() {
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
     }
 
     @Test
@@ -128,8 +199,8 @@ class NewsResourceIT {
         assertThat(testNews.getHeaderline()).isEqualTo(DEFAULT_HEADERLINE);
         assertThat(testNews.getUrl()).isEqualTo(DEFAULT_URL);
         assertThat(testNews.getPubDate()).isEqualTo(DEFAULT_PUB_DATE);
-        assertThat(testNews.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testNews.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(testNews.getImage().getContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testNews.getImage().getId()).get().getContent()).isEqualTo(DEFAULT_IMAGE);
     }
 
     @Test
@@ -212,13 +283,263 @@ class NewsResourceIT {
         restNewsMockMvc
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(2))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(news.getId().intValue())))
             .andExpect(jsonPath("$.[*].headerline").value(hasItem(DEFAULT_HEADERLINE)))
             .andExpect(jsonPath("$.[*].url").value(hasItem(DEFAULT_URL)))
             .andExpect(jsonPath("$.[*].pubDate").value(hasItem(DEFAULT_PUB_DATE.toString())))
-            .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].image.contentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
+            .andExpect(jsonPath("$.[*].image.size").value(hasItem(DEFAULT_IMAGE.length)))
+            .andExpect(jsonPath("$.[*].image.sha256").value(hasItem(ImageService.sha256(DEFAULT_IMAGE))))
+            .andExpect(jsonPath("$.[*].imageData").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsReadsUsersInOneStatement() throws Exception {
+        List<News> newsList = initNewsWithUsers(3);
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?size=3&sort=id,desc&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].user.login").value(newsList.get(2).getUser().getLogin()));
+
+        // Only the id and login of the users are selected, in the same statement as the page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsWithCursorReadsUsersInOneStatement() throws Exception {
+        List<News> newsList = initNewsWithUsers(3);
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=3&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.[0].user.login").value(newsList.get(2).getUser().getLogin()));
+
+        // Projected as the pages, reading no entity at all
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getNewsReadsUserInOneStatement() throws Exception {
+        News newsWithUser = initNewsWithUsers(1).get(0);
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID, newsWithUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.user.login").value(newsWithUser.getUser().getLogin()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void findByUserIsCurrentUserReadsUsersInOneStatement() {
+        // The mock user of this test class
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        newsRepository.saveAndFlush(news.user(user));
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<NewsDTO> newsDTOs = newsRepository.findByUserIsCurrentUser();
+
+        assertThat(newsDTOs).extracting(NewsDTO::getId).contains(news.getId());
+        assertThat(newsDTOs).extracting(dto -> dto.getUser().getLogin()).containsOnly("user");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void getMyNews() throws Exception {
+        // Initialize the database with a news of the mock user and one of another user
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        newsRepository.saveAndFlush(news.user(user));
+        User other = UserResourceIT.createEntity(em);
+        em.persist(other);
+        News otherNews = newsRepository.saveAndFlush(createEntity(em).user(other));
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(news.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherNews.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].user.login").value(everyItem(is("user"))));
+    }
+
+    @Test
+    @Transactional
+    void getMyNewsWithCursor() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        News first = newsRepository.saveAndFlush(news.user(user));
+        News second = newsRepository.saveAndFlush(createEntity(em).user(user));
+        News third = newsRepository.saveAndFlush(createEntity(em).user(user));
+
+        MvcResult result = restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        restNewsMockMvc.perform(get(next)).andExpect(status().isOk()).andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getMyNewsWithCursorReadsNoNews() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        News mine = newsRepository.saveAndFlush(news.user(user));
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?after=&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(2))
+            .andExpect(jsonPath("$.[0].id").value(mine.getId().intValue()))
+            .andExpect(jsonPath("$.[0].user.login").value("user"));
+
+        // The current user is looked up, its news being projected
+        assertThat(statistics.getEntityStatistics(News.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isLessThanOrEqualTo(1);
+        assertThatNoUserWasFetchedSeparately();
+    }
+
+    @Test
+    @Transactional
+    void getMyNewsWithCursorOnOtherProperty() throws Exception {
+        restNewsMockMvc.perform(get(ENTITY_API_URL + "/mine?after=&sort=headerline,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getMyNewsIsEvictedOnSaveAndDelete() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        restNewsMockMvc.perform(get(ENTITY_API_URL + "/mine?sort=id,desc")).andExpect(status().isOk());
+
+        // Create a news of the mock user, the cached page must not be served anymore
+        restNewsMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(newsMapper.toDto(news.user(user))))
+            )
+            .andExpect(status().isCreated());
+        Long id = newsRepository.findAllProjectedByUserId(user.getId(), PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")))
+            .getContent()
+            .get(0)
+            .getId();
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(id.intValue())));
+
+        // Delete it
+        restNewsMockMvc.perform(delete(ENTITY_API_URL_ID, id).with(csrf())).andExpect(status().isNoContent());
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(id.intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void exportNews() throws Exception {
+        // Initialize the database
+        News first = newsRepository.saveAndFlush(news);
+        News second = newsRepository.saveAndFlush(createEntity(em));
+
+        String body = restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"news.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // One news per line, in id order
+        assertThat(body).endsWith("\n");
+        List<Integer> ids = body.lines().map(line -> JsonPath.<Integer>read(line, "$.id")).collect(Collectors.toList());
+        assertThat(ids).isSorted().contains(first.getId().intValue(), second.getId().intValue());
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsWithoutCount() throws Exception {
+        // Initialize the database
+        News first = newsRepository.saveAndFlush(news);
+        newsRepository.saveAndFlush(createEntity(em));
+
+        // Get the first slice of the newsList
+        MvcResult result = restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andReturn();
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "last")).isNull();
+
+        // The last slice has no next link
+        result = restNewsMockMvc.perform(get(next)).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1)).andReturn();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next")).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsWithCursor() throws Exception {
+        // Initialize the database
+        News first = newsRepository.saveAndFlush(news);
+        News second = newsRepository.saveAndFlush(createEntity(em));
+        News third = newsRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page of the newsList, newest first
+        MvcResult result = restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        // Follow the next cursor
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        restNewsMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsWithInvalidCursor() throws Exception {
+        restNewsMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -236,8 +557,10 @@ class NewsResourceIT {
             .andExpect(jsonPath("$.headerline").value(DEFAULT_HEADERLINE))
             .andExpect(jsonPath("$.url").value(DEFAULT_URL))
             .andExpect(jsonPath("$.pubDate").value(DEFAULT_PUB_DATE.toString()))
-            .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64Utils.encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.image.contentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(jsonPath("$.image.size").value(DEFAULT_IMAGE.length))
+            .andExpect(jsonPath("$.image.sha256").value(ImageService.sha256(DEFAULT_IMAGE)))
+            .andExpect(jsonPath("$.imageData").doesNotExist());
     }
 
     @Test
@@ -247,6 +570,117 @@ class NewsResourceIT {
         restNewsMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getNewsImage() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // Get the news image
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", news.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + ImageService.sha256(DEFAULT_IMAGE) + "\""))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getNewsImageWithVersion() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // Get the current version of the news image
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?v=" + ImageService.sha256(DEFAULT_IMAGE), news.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getNewsImageRendition() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+        Image rendition = createImage(em, UPDATED_IMAGE, UPDATED_IMAGE_CONTENT_TYPE);
+        em.persist(new ImageRendition().sourceSha256(news.getImage().getSha256()).size(ImageSize.LIST).image(rendition));
+        em.flush();
+
+        // Get the list size rendition of the current version of the news image
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?size=LIST&v=" + ImageService.sha256(DEFAULT_IMAGE), news.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(UPDATED_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + ImageService.sha256(UPDATED_IMAGE) + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private"))
+            .andExpect(content().bytes(UPDATED_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getNewsImageRenditionNotGenerated() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // The original image is served until the rendition exists, and must not be cached as the rendition
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?size=CARD&v=" + ImageService.sha256(DEFAULT_IMAGE), news.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getNewsImageNotModified() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // Get the news image with a matching ETag
+        restNewsMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/image", news.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + ImageService.sha256(DEFAULT_IMAGE) + "\"")
+            )
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getNewsImageRange() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // Get the first byte of the news image
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", news.getId()).header(HttpHeaders.RANGE, "bytes=0-0"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-0/" + DEFAULT_IMAGE.length))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    @WithAnonymousUser
+    void getNewsImageAnonymously() throws Exception {
+        // Initialize the database
+        newsRepository.saveAndFlush(news);
+
+        // Get the news image without logging in
+        restNewsMockMvc.perform(get(ENTITY_API_URL_ID + "/image", news.getId())).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingNewsImage() throws Exception {
+        // Get the news image
+        restNewsMockMvc.perform(get(ENTITY_API_URL_ID + "/image", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putNewNews() throws Exception {
@@ -262,10 +696,10 @@ class NewsResourceIT {
         updatedNews
             .headerline(UPDATED_HEADERLINE)
             .url(UPDATED_URL)
-            .pubDate(UPDATED_PUB_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .pubDate(UPDATED_PUB_DATE);
         NewsDTO newsDTO = newsMapper.toDto(updatedNews);
+        newsDTO.setImageData(UPDATED_IMAGE);
+        newsDTO.setImageDataContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restNewsMockMvc
             .perform(
@@ -283,8 +717,8 @@ class NewsResourceIT {
         assertThat(testNews.getHeaderline()).isEqualTo(UPDATED_HEADERLINE);
         assertThat(testNews.getUrl()).isEqualTo(UPDATED_URL);
         assertThat(testNews.getPubDate()).isEqualTo(UPDATED_PUB_DATE);
-        assertThat(testNews.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testNews.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(testNews.getImage().getContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testNews.getImage().getId()).get().getContent()).isEqualTo(UPDATED_IMAGE);
     }
 
     @Test
@@ -384,8 +818,8 @@ class NewsResourceIT {
         assertThat(testNews.getHeaderline()).isEqualTo(DEFAULT_HEADERLINE);
         assertThat(testNews.getUrl()).isEqualTo(DEFAULT_URL);
         assertThat(testNews.getPubDate()).isEqualTo(DEFAULT_PUB_DATE);
-        assertThat(testNews.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testNews.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(testNews.getImage().getContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testNews.getImage().getId()).get().getContent()).isEqualTo(DEFAULT_IMAGE);
     }
 
     @Test
@@ -403,16 +837,17 @@ class NewsResourceIT {
         partialUpdatedNews
             .headerline(UPDATED_HEADERLINE)
             .url(UPDATED_URL)
-            .pubDate(UPDATED_PUB_DATE)
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .pubDate(UPDATED_PUB_DATE);
+        NewsDTO partialUpdatedNewsDTO = newsMapper.toDto(partialUpdatedNews);
+        partialUpdatedNewsDTO.setImageData(UPDATED_IMAGE);
+        partialUpdatedNewsDTO.setImageDataContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restNewsMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedNews.getId())
                     .with(csrf())
                     .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedNews))
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedNewsDTO))
             )
             .andExpect(status().isOk());
 
@@ -423,8 +858,8 @@ class NewsResourceIT {
         assertThat(testNews.getHeaderline()).isEqualTo(UPDATED_HEADERLINE);
         assertThat(testNews.getUrl()).isEqualTo(UPDATED_URL);
         assertThat(testNews.getPubDate()).isEqualTo(UPDATED_PUB_DATE);
-        assertThat(testNews.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testNews.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(testNews.getImage().getContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(imageContentRepository.findById(testNews.getImage().getId()).get().getContent()).isEqualTo(UPDATED_IMAGE);
     }
 
     @Test
@@ -6,8 +6,10 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yong.web.filter.QueryCountFilter;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -22,6 +24,7 @@ import org.hamcrest.TypeSafeMatcher;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.test.web.servlet.ResultMatcher;
 
 /**
  * Utility class for testing REST controllers.
@@ -202,5 +205,35 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Get the URI of a relation from a {@code Link} header.
+     * @param linkHeader The value of the {@code Link} header
+     * @param rel The relation type
+     * @return The URI of the relation, or {@code null} if the header has no such relation
+     */
+    public static URI getLink(String linkHeader, String rel) {
+        for (String link : linkHeader.split(",")) {
+            String[] parts = link.split(";");
+            if (parts.length == 2 && parts[1].trim().equals("rel=\"" + rel + "\"")) {
+                String uri = parts[0].trim();
+                return URI.create(uri.substring(1, uri.length() - 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Assert the number of SQL statements run by a request, from its {@code X-Query-Count} header.
+     * @param max The maximum number of statements
+     * @return The matcher
+     */
+    public static ResultMatcher statementCountAtMost(long max) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+            assertThat(header).as(QueryCountFilter.QUERY_COUNT_HEADER + " header").isNotNull();
+            assertThat(Long.parseLong(header)).as("SQL statements of the request").isLessThanOrEqualTo(max);
+        };
+    }
+
     private TestUtil() {}
 }
@@ -1,29 +1,46 @@
 package com.yong.web.rest;
 
+import static com.yong.web.rest.TestUtil.statementCountAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.yong.IntegrationTest;
+import com.yong.domain.Image;
+import com.yong.domain.Movie;
 import com.yong.domain.Twitter;
+import com.yong.domain.User;
 import com.yong.repository.TwitterRepository;
+import com.yong.service.dto.MovieDTO;
 import com.yong.service.dto.TwitterDTO;
 import com.yong.service.mapper.TwitterMapper;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -63,6 +80,8 @@ class TwitterResourceIT {
 
     private Twitter twitter;
 
+    private Statistics statistics;
+
     /**
      * Create an entity for this test.
      *
@@ -88,6 +107,32 @@ class TwitterResourceIT {
     @BeforeEach
     public void initTest() {
         twitter = createEntity(em);
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    /**
+     * Persist a twitter linked to a movie, and clear the persistence context so that the next reads hit the database.
+     */
+    private Movie initTwitterWithMovie() {
+        Movie movie = MovieResourceIT.createEntity(em);
+        em.persist(movie);
+        twitterRepository.saveAndFlush(twitter.movie(movie));
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return movie;
+    }
+
+    private void assertThatNoMovieWasRead() {
+        assertThat(statistics.getEntityStatistics(Movie.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Movie.class.getName()).getFetchCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Image.class.getName()).getLoadCount()).isZero();
     }
 
     @Test
@@ -161,6 +206,61 @@ class TwitterResourceIT {
         assertThat(twitterList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    void createTwittersInBatch() throws Exception {
+        Movie movie = MovieResourceIT.createEntity(em);
+        em.persist(movie);
+        int databaseSizeBeforeCreate = twitterRepository.findAll().size();
+
+        TwitterDTO withMovie = twitterMapper.toDto(createEntity(em).movie(movie));
+        TwitterDTO withoutContent = twitterMapper.toDto(createEntity(em).content(null));
+        TwitterDTO withId = twitterMapper.toDto(createEntity(em));
+        withId.setId(1L);
+        restTwitterMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(twitterMapper.toDto(twitter), withoutContent, withMovie, withId)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors.[0].index").value(1))
+            .andExpect(jsonPath("$.errors.[0].message").value(startsWith("content: ")))
+            .andExpect(jsonPath("$.errors.[1].index").value(3));
+
+        List<Twitter> twitterList = twitterRepository.findAll();
+        assertThat(twitterList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(twitterList).filteredOn(t -> t.getMovie() != null && movie.getId().equals(t.getMovie().getId())).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void createTwittersFromNdjson() throws Exception {
+        int databaseSizeBeforeCreate = twitterRepository.findAll().size();
+
+        TwitterDTO withUnknownMovie = twitterMapper.toDto(createEntity(em));
+        withUnknownMovie.setMovie(new MovieDTO());
+        withUnknownMovie.getMovie().setId(Long.MAX_VALUE);
+        String ndjson = String.join(
+            "\n",
+            new String(TestUtil.convertObjectToJsonBytes(twitterMapper.toDto(twitter)), StandardCharsets.UTF_8),
+            new String(TestUtil.convertObjectToJsonBytes(withUnknownMovie), StandardCharsets.UTF_8),
+            new String(TestUtil.convertObjectToJsonBytes(twitterMapper.toDto(createEntity(em))), StandardCharsets.UTF_8),
+            "{not json"
+        );
+        restTwitterMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").with(csrf()).contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[*].index").value(containsInAnyOrder(1, 3)));
+
+        assertThat(twitterRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
     @Test
     @Transactional
     void getAllTwitters() throws Exception {
@@ -171,6 +271,7 @@ class TwitterResourceIT {
         restTwitterMockMvc
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(2))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(twitter.getId().intValue())))
             .andExpect(jsonPath("$.[*].content").value(hasItem(DEFAULT_CONTENT)))
@@ -178,6 +279,160 @@ class TwitterResourceIT {
             .andExpect(jsonPath("$.[*].publisher").value(hasItem(DEFAULT_PUBLISHER)));
     }
 
+    @Test
+    @Transactional
+    void getAllTwittersReadsOnlyTheMovieId() throws Exception {
+        Movie movie = initTwitterWithMovie();
+
+        restTwitterMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.[*].movie.id").value(hasItem(movie.getId().intValue())));
+
+        // A single statement, as the count is skipped for a partial first page, reading no entity at all
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoMovieWasRead();
+    }
+
+    @Test
+    @Transactional
+    void getAllTwittersWithCursorReadsOnlyTheMovieId() throws Exception {
+        Movie movie = initTwitterWithMovie();
+
+        restTwitterMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.[0].movie.id").value(movie.getId().intValue()));
+
+        // Projected as the pages, reading no entity at all
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatNoMovieWasRead();
+    }
+
+    @Test
+    @Transactional
+    void getTwitterReadsOnlyTheMovieId() throws Exception {
+        Movie movie = initTwitterWithMovie();
+
+        restTwitterMockMvc
+            .perform(get(ENTITY_API_URL_ID, twitter.getId()))
+            .andExpect(status().isOk())
+            .andExpect(statementCountAtMost(1))
+            .andExpect(jsonPath("$.movie.id").value(movie.getId().intValue()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThatNoMovieWasRead();
+    }
+
+    @Test
+    @Transactional
+    void exportTwitters() throws Exception {
+        // Initialize the database
+        Twitter first = twitterRepository.saveAndFlush(twitter);
+        Twitter second = twitterRepository.saveAndFlush(createEntity(em));
+
+        String body = restTwitterMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"twitters.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // One twitter per line, in id order
+        assertThat(body).endsWith("\n");
+        List<Integer> ids = body.lines().map(line -> JsonPath.<Integer>read(line, "$.id")).collect(Collectors.toList());
+        assertThat(ids).isSorted().contains(first.getId().intValue(), second.getId().intValue());
+    }
+
+    @Test
+    @Transactional
+    void getAllTwittersWithoutCount() throws Exception {
+        // Initialize the database
+        Twitter first = twitterRepository.saveAndFlush(twitter);
+        twitterRepository.saveAndFlush(createEntity(em));
+
+        // Get the first slice of the twitterList
+        MvcResult result = restTwitterMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andReturn();
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "last")).isNull();
+
+        // The last slice has no next link
+        result = restTwitterMockMvc.perform(get(next)).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1)).andReturn();
+        assertThat(TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next")).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getAllTwittersWithCursor() throws Exception {
+        // Initialize the database
+        Twitter first = twitterRepository.saveAndFlush(twitter);
+        Twitter second = twitterRepository.saveAndFlush(createEntity(em));
+        Twitter third = twitterRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page of the twitterList, newest first
+        MvcResult result = restTwitterMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        // Follow the next cursor
+        URI next = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        assertThat(next).isNotNull();
+        restTwitterMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllTwittersWithInvalidCursor() throws Exception {
+        restTwitterMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllTwittersWithCursorSortedByNullablePubDate() throws Exception {
+        // Initialize the database
+        Twitter first = twitterRepository.saveAndFlush(twitter.pubDate(null));
+        Twitter second = twitterRepository.saveAndFlush(createEntity(em));
+        Twitter third = twitterRepository.saveAndFlush(createEntity(em).pubDate(null));
+
+        // Null dates come first in ascending order, and last in descending order
+        assertThat(getAllTwitterIdsWithCursor("pubDate,asc")).containsExactly(first.getId(), third.getId(), second.getId());
+        assertThat(getAllTwitterIdsWithCursor("pubDate,desc")).containsExactly(second.getId(), third.getId(), first.getId());
+    }
+
+    private List<Long> getAllTwitterIdsWithCursor(String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        URI uri = URI.create(ENTITY_API_URL + "?after=&size=1&sort=" + sort.replace(",", "%2C"));
+        while (uri != null) {
+            MvcResult result = restTwitterMockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn();
+            List<Number> page = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            page.forEach(id -> ids.add(id.longValue()));
+            uri = TestUtil.getLink(result.getResponse().getHeader(HttpHeaders.LINK), "next");
+        }
+        return ids;
+    }
+
     @Test
     @Transactional
     void getTwitter() throws Exception {